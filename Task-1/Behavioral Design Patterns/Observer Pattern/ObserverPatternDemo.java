@@ -1,21 +1,79 @@
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
 
 interface Observer {
     void update(String message);
 }
 
+// Observers are kept in an array that is replaced, never changed, when an observer is added
+// or removed (copy-on-write, swapped with compareAndSet), so notifying takes no lock and is
+// never disturbed by a concurrent add or remove.
+// In conflating mode setMessage only stores the message in each observer's slot and returns;
+// a dispatcher thread delivers the latest message of each slot, so a burst of messages
+// reaches a slow observer as the last one instead of holding up the publisher.
 class Subject {
-    private final List<Observer> observers = new ArrayList<>();
-    private String message;
+    private final AtomicReference<Registration[]> observers = new AtomicReference<>(new Registration[0]);
+    private final boolean conflating;
+    private final Queue<Registration> ready = new ConcurrentLinkedQueue<>();
+    private volatile Thread dispatcher;
+    private volatile boolean closed;
+    private volatile String message;
+
+    public Subject() {
+        this(false);
+    }
+
+    public Subject(boolean conflating) {
+        this.conflating = conflating;
+        if (conflating) {
+            Thread thread = new Thread(this::dispatch, "subject-dispatcher");
+            thread.setDaemon(true);
+            dispatcher = thread;
+            thread.start();
+        }
+    }
 
     public void addObserver(Observer observer) {
-        observers.add(observer);
+        Registration registration = new Registration(observer);
+        Registration[] current;
+        Registration[] updated;
+        do {
+            current = observers.get();
+            updated = Arrays.copyOf(current, current.length + 1);
+            updated[current.length] = registration;
+        } while (!observers.compareAndSet(current, updated));
+    }
+
+    public void removeObserver(Observer observer) {
+        Registration[] current;
+        Registration[] updated;
+        int index;
+        do {
+            current = observers.get();
+            index = indexOf(current, observer);
+            if (index < 0) {
+                return;
+            }
+            updated = new Registration[current.length - 1];
+            System.arraycopy(current, 0, updated, 0, index);
+            System.arraycopy(current, index + 1, updated, index, updated.length - index);
+        } while (!observers.compareAndSet(current, updated));
+        // A message already waiting for the dispatcher is not delivered
+        current[index].removed = true;
     }
 
     public void notifyObservers() {
-        for (Observer observer : observers) {
-            observer.update(message);
+        String current = message;
+        for (Registration registration : observers.get()) {
+            if (conflating) {
+                offer(registration, current);
+            } else {
+                registration.observer.update(current);
+            }
         }
     }
 
@@ -23,6 +81,66 @@ class Subject {
         this.message = message;
         notifyObservers();
     }
+
+    // Stops the dispatcher; messages not yet delivered are dropped
+    public void close() {
+        closed = true;
+        Thread thread = dispatcher;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    // The slot keeps only the latest message; the observer is queued once until it is served
+    private void offer(Registration registration, String message) {
+        registration.latest.set(message);
+        if (registration.queued.compareAndSet(false, true)) {
+            ready.add(registration);
+            LockSupport.unpark(dispatcher);
+        }
+    }
+
+    private void dispatch() {
+        while (!closed) {
+            Registration registration = ready.poll();
+            if (registration == null) {
+                LockSupport.park(this);
+                continue;
+            }
+            // Clear the flag before taking the message: a message stored after this is either
+            // taken now or queues the observer again
+            registration.queued.set(false);
+            String latest = registration.latest.getAndSet(null);
+            if (latest != null && !registration.removed) {
+                try {
+                    registration.observer.update(latest);
+                } catch (RuntimeException e) {
+                    // One failing observer must not stop delivery to the others
+                    System.err.println("Observer failed: " + e);
+                }
+            }
+        }
+    }
+
+    private static int indexOf(Registration[] registrations, Observer observer) {
+        for (int i = 0; i < registrations.length; i++) {
+            if (registrations[i].observer == observer) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static class Registration {
+        private final Observer observer;
+        private final AtomicReference<String> latest = new AtomicReference<>();
+        private final AtomicBoolean queued = new AtomicBoolean();
+        private volatile boolean removed;
+
+        Registration(Observer observer) {
+            this.observer = observer;
+        }
+    }
 }
 
 class ConcreteObserver implements Observer {
@@ -38,8 +156,41 @@ class ConcreteObserver implements Observer {
     }
 }
 
+// Counts updates and spends 'workNanos' on each one, standing in for a slow observer
+class CountingObserver implements Observer {
+    private final long workNanos;
+    private volatile long received;
+
+    public CountingObserver(long workNanos) {
+        this.workNanos = workNanos;
+    }
+
+    @Override
+    public void update(String message) {
+        long until = System.nanoTime() + workNanos;
+        while (workNanos > 0 && System.nanoTime() < until) {
+            Thread.onSpinWait();
+        }
+        received++;
+    }
+
+    public long getReceived() {
+        return received;
+    }
+}
+
 public class ObserverPatternDemo {
-    public static void main(String[] args) {
+    private static final long MEASURE_NANOS = 200_000_000L;
+
+    // 'java ObserverPatternDemo conflating' also shows a burst through a conflating subject;
+    // 'java ObserverPatternDemo bench' prints the throughput comparison instead
+    public static void main(String[] args) throws InterruptedException {
+        String mode = args.length > 0 ? args[0] : "";
+        if (mode.equals("bench")) {
+            compareThroughput();
+            return;
+        }
+
         Subject subject = new Subject();
         Observer observer1 = new ConcreteObserver("Observer 1");
         Observer observer2 = new ConcreteObserver("Observer 2");
@@ -48,5 +199,57 @@ public class ObserverPatternDemo {
         subject.addObserver(observer2);
 
         subject.setMessage("Design Patterns in Action!");
+
+        if (mode.equals("conflating")) {
+            Subject conflating = new Subject(true);
+            conflating.addObserver(observer1);
+            for (int i = 1; i <= 1000; i++) {
+                conflating.setMessage("Update " + i);
+            }
+            // Observer 1 gets some of the updates, always ending with "Update 1000"
+            Thread.sleep(100);
+            conflating.close();
+        }
+    }
+
+    // Rough publish throughput of direct and conflating subjects against observer count and
+    // observer slowness, each run for MEASURE_NANOS after a warm-up run
+    private static void compareThroughput() {
+        System.out.println("Publishes per second (delivered per observer in brackets):");
+        System.out.printf("%-10s %-10s %-24s %-24s%n", "Observers", "Work", "Direct", "Conflating");
+        int[] observerCounts = {1, 10, 100};
+        long[] workNanos = {0, 10_000};
+        for (long work : workNanos) {
+            for (int count : observerCounts) {
+                measure(false, count, work);
+                measure(true, count, work);
+                String direct = measure(false, count, work);
+                String conflated = measure(true, count, work);
+                System.out.printf("%-10d %-10s %-24s %-24s%n", count, work / 1000 + " us", direct, conflated);
+            }
+        }
+    }
+
+    private static String measure(boolean conflating, int observerCount, long workNanos) {
+        Subject subject = new Subject(conflating);
+        CountingObserver[] observers = new CountingObserver[observerCount];
+        for (int i = 0; i < observerCount; i++) {
+            observers[i] = new CountingObserver(workNanos);
+            subject.addObserver(observers[i]);
+        }
+        long published = 0;
+        long start = System.nanoTime();
+        long elapsed;
+        do {
+            subject.setMessage("tick");
+            published++;
+            elapsed = System.nanoTime() - start;
+        } while (elapsed < MEASURE_NANOS);
+        subject.close();
+        long delivered = 0;
+        for (CountingObserver observer : observers) {
+            delivered += observer.getReceived();
+        }
+        return String.format("%,.0f (%,d)", published * 1e9 / elapsed, delivered / observerCount);
     }
 }
@@ -1,37 +1,228 @@
+import java.nio.IntBuffer;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
 interface Strategy {
     int execute(int a, int b);
+
+    // Applies the strategy to a[i], b[i] for i in [from, to), writing out[i]. Strategies
+    // override this with a plain loop over the arrays, which the JIT can unroll and vectorize;
+    // this fallback still makes one interface call per element.
+    default void executeBatch(int[] a, int[] b, int[] out, int from, int to) {
+        for (int i = from; i < to; i++) {
+            out[i] = execute(a[i], b[i]);
+        }
+    }
 }
 
 class AddStrategy implements Strategy {
     public int execute(int a, int b) {
         return a + b;
     }
+
+    @Override
+    public void executeBatch(int[] a, int[] b, int[] out, int from, int to) {
+        for (int i = from; i < to; i++) {
+            out[i] = a[i] + b[i];
+        }
+    }
 }
 
 class SubtractStrategy implements Strategy {
     public int execute(int a, int b) {
         return a - b;
     }
+
+    @Override
+    public void executeBatch(int[] a, int[] b, int[] out, int from, int to) {
+        for (int i = from; i < to; i++) {
+            out[i] = a[i] - b[i];
+        }
+    }
 }
 
 class Context {
+    // Below this many elements a batch runs on the calling thread
+    static final int PARALLEL_THRESHOLD = 1 << 16;
+
     private Strategy strategy;
 
     public Context(Strategy strategy) {
         this.strategy = strategy;
     }
 
+    public void setStrategy(Strategy strategy) {
+        this.strategy = strategy;
+    }
+
     public int executeStrategy(int a, int b) {
         return strategy.execute(a, b);
     }
+
+    // One virtual call for the whole batch instead of one per element
+    public void executeBatch(int[] a, int[] b, int[] out) {
+        checkLengths(a.length, b.length, out.length);
+        strategy.executeBatch(a, b, out, 0, out.length);
+    }
+
+    // Splits the batch into chunks of at least PARALLEL_THRESHOLD elements run on the
+    // common fork-join pool; each chunk is an ordinary batch call
+    public void executeBatchParallel(int[] a, int[] b, int[] out) {
+        checkLengths(a.length, b.length, out.length);
+        if (out.length <= PARALLEL_THRESHOLD) {
+            strategy.executeBatch(a, b, out, 0, out.length);
+        } else {
+            ForkJoinPool.commonPool().invoke(new BatchTask(strategy, a, b, out, 0, out.length));
+        }
+    }
+
+    // Reads the remaining elements of a and b and writes as many to out, advancing all three.
+    // Heap buffers are handled as arrays; other buffers are copied through a chunk at a time.
+    public void executeBatch(IntBuffer a, IntBuffer b, IntBuffer out) {
+        int n = out.remaining();
+        checkLengths(a.remaining(), b.remaining(), n);
+        if (a.hasArray() && b.hasArray() && out.hasArray() && a.arrayOffset() == 0
+                && b.arrayOffset() == 0 && out.arrayOffset() == 0
+                && a.position() == b.position() && b.position() == out.position()) {
+            int from = out.position();
+            strategy.executeBatch(a.array(), b.array(), out.array(), from, from + n);
+            a.position(from + n);
+            b.position(from + n);
+            out.position(from + n);
+            return;
+        }
+        int[] chunkA = new int[Math.min(n, 4096)];
+        int[] chunkB = new int[chunkA.length];
+        int[] chunkOut = new int[chunkA.length];
+        while (n > 0) {
+            int count = Math.min(n, chunkA.length);
+            a.get(chunkA, 0, count);
+            b.get(chunkB, 0, count);
+            strategy.executeBatch(chunkA, chunkB, chunkOut, 0, count);
+            out.put(chunkOut, 0, count);
+            n -= count;
+        }
+    }
+
+    private static void checkLengths(int a, int b, int out) {
+        if (a != out || b != out) {
+            throw new IllegalArgumentException("Inputs and output must have the same length.");
+        }
+    }
+
+    private static class BatchTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Strategy strategy;
+        private final int[] a;
+        private final int[] b;
+        private final int[] out;
+        private final int from;
+        private final int to;
+
+        BatchTask(Strategy strategy, int[] a, int[] b, int[] out, int from, int to) {
+            this.strategy = strategy;
+            this.a = a;
+            this.b = b;
+            this.out = out;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= PARALLEL_THRESHOLD) {
+                strategy.executeBatch(a, b, out, from, to);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new BatchTask(strategy, a, b, out, from, mid), new BatchTask(strategy, a, b, out, mid, to));
+        }
+    }
 }
 
 public class StrategyPatternDemo {
+    private static final int SIZE = 1 << 22;
+    private static final int ROUNDS = 20;
+
+    // 'java StrategyPatternDemo batch' also runs a small batch; 'java StrategyPatternDemo bench'
+    // prints the timing comparison instead
     public static void main(String[] args) {
+        String mode = args.length > 0 ? args[0] : "";
+        if (mode.equals("bench")) {
+            compareTimings();
+            return;
+        }
+
         Context context = new Context(new AddStrategy());
         System.out.println("Add: " + context.executeStrategy(5, 3));
 
         context = new Context(new SubtractStrategy());
         System.out.println("Subtract: " + context.executeStrategy(5, 3));
+
+        if (mode.equals("batch")) {
+            int[] a = {10, 20, 30};
+            int[] b = {1, 2, 3};
+            int[] out = new int[a.length];
+            context.executeBatch(a, b, out);
+            System.out.println("Subtract batch: " + Arrays.toString(out));
+        }
+    }
+
+    // Rough timing of per-element dispatch, batch and parallel batch on SIZE elements, with
+    // both strategies in use so the per-element call site sees more than one receiver.
+    // Best of ROUNDS after a warm-up; for exact numbers use a harness such as JMH.
+    private static void compareTimings() {
+        int[] a = new int[SIZE];
+        int[] b = new int[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            a[i] = i * 31;
+            b[i] = i ^ 0x5555;
+        }
+        int[] expected = new int[SIZE];
+        int[] out = new int[SIZE];
+        Strategy[] strategies = {new AddStrategy(), new SubtractStrategy()};
+        String[] names = {"Add", "Subtract"};
+
+        System.out.printf("%d elements, %d threads (ns per element, best of %d):%n",
+                SIZE, ForkJoinPool.getCommonPoolParallelism(), ROUNDS);
+        for (int s = 0; s < strategies.length; s++) {
+            Context context = new Context(strategies[s]);
+            long perElement = Long.MAX_VALUE;
+            long batch = Long.MAX_VALUE;
+            long parallel = Long.MAX_VALUE;
+            for (int round = 0; round < ROUNDS * 2; round++) {
+                long start = System.nanoTime();
+                perElementLoop(strategies, a, b, expected, s);
+                long t1 = System.nanoTime();
+                context.executeBatch(a, b, out);
+                long t2 = System.nanoTime();
+                context.executeBatchParallel(a, b, out);
+                long t3 = System.nanoTime();
+                // The first ROUNDS rounds warm up the JIT
+                if (round >= ROUNDS) {
+                    perElement = Math.min(perElement, t1 - start);
+                    batch = Math.min(batch, t2 - t1);
+                    parallel = Math.min(parallel, t3 - t2);
+                }
+            }
+            if (!Arrays.equals(expected, out)) {
+                throw new IllegalStateException(names[s] + " batch result differs from per-element result.");
+            }
+            System.out.printf("%-8s per element %.3f, batch %.3f, parallel batch %.3f%n", names[s],
+                    (double) perElement / SIZE, (double) batch / SIZE, (double) parallel / SIZE);
+        }
+    }
+
+    // One Context call per element; the context is swapped between strategies every round
+    // so the JIT cannot assume a single strategy at the call site
+    private static void perElementLoop(Strategy[] strategies, int[] a, int[] b, int[] out, int current) {
+        Context context = new Context(strategies[(current + 1) % strategies.length]);
+        out[0] = context.executeStrategy(a[0], b[0]);
+        context.setStrategy(strategies[current]);
+        for (int i = 0; i < out.length; i++) {
+            out[i] = context.executeStrategy(a[i], b[i]);
+        }
     }
 }
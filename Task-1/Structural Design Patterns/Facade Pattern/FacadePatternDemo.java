@@ -1,36 +1,197 @@
-// Complex subsystem classes
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// Complex subsystem classes. A latency makes each call take that long, standing in for a
+// remote service; the default is none. Each call is printed unless printCalls is false.
 class Subsystem1 {
-    public void operation1() {
-        System.out.println("Subsystem1: operation1");
+    private final Duration latency;
+    private final boolean printCalls;
+
+    public Subsystem1() {
+        this(Duration.ZERO, true);
+    }
+
+    public Subsystem1(Duration latency, boolean printCalls) {
+        this.latency = latency;
+        this.printCalls = printCalls;
+    }
+
+    public String operation1() {
+        Facade.simulateLatency(latency);
+        if (printCalls) {
+            System.out.println("Subsystem1: operation1");
+        }
+        return "operation1 done";
     }
 }
 
 class Subsystem2 {
-    public void operation2() {
-        System.out.println("Subsystem2: operation2");
+    private final Duration latency;
+    private final boolean printCalls;
+
+    public Subsystem2() {
+        this(Duration.ZERO, true);
+    }
+
+    public Subsystem2(Duration latency, boolean printCalls) {
+        this.latency = latency;
+        this.printCalls = printCalls;
+    }
+
+    public String operation2() {
+        Facade.simulateLatency(latency);
+        if (printCalls) {
+            System.out.println("Subsystem2: operation2");
+        }
+        return "operation2 done";
     }
 }
 
 // Facade class that simplifies the subsystem usage
 class Facade {
+    static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(1);
+    // Shared by every facade built without an executor; its threads are daemons, so it never
+    // has to be shut down
+    private static final ExecutorService SHARED_EXECUTOR = newExecutor();
+
     private final Subsystem1 subsystem1;
     private final Subsystem2 subsystem2;
+    private final Executor executor;
+    private final Duration timeout1;
+    private final Duration timeout2;
 
     public Facade() {
-        subsystem1 = new Subsystem1();
-        subsystem2 = new Subsystem2();
+        this(new Subsystem1(), new Subsystem2(), SHARED_EXECUTOR, DEFAULT_TIMEOUT, DEFAULT_TIMEOUT);
+    }
+
+    public Facade(Subsystem1 subsystem1, Subsystem2 subsystem2, Executor executor, Duration timeout1, Duration timeout2) {
+        this.subsystem1 = subsystem1;
+        this.subsystem2 = subsystem2;
+        this.executor = executor;
+        this.timeout1 = timeout1;
+        this.timeout2 = timeout2;
     }
 
+    // Calls the subsystems one after the other, so it takes as long as all of them together
     public void simpleOperation() {
         subsystem1.operation1();
         subsystem2.operation2();
     }
+
+    // Calls the independent subsystems at the same time on the executor, so the combined
+    // result is ready about when the slowest one answers. A subsystem that fails or does not
+    // answer within its timeout is replaced by a fallback result instead of failing the whole
+    // operation. The future itself never completes exceptionally.
+    public CompletableFuture<String> simpleOperationAsync() {
+        CompletableFuture<String> result1 = call(subsystem1::operation1, timeout1, "operation1 unavailable");
+        CompletableFuture<String> result2 = call(subsystem2::operation2, timeout2, "operation2 unavailable");
+        return result1.thenCombine(result2, (first, second) -> first + ", " + second);
+    }
+
+    // The timed-out call itself keeps running on its thread; only its result is ignored
+    private CompletableFuture<String> call(Supplier<String> operation, Duration timeout, String fallback) {
+        return CompletableFuture.supplyAsync(operation, executor)
+                .orTimeout(timeout.toNanos(), TimeUnit.NANOSECONDS)
+                .exceptionally(e -> fallback);
+    }
+
+    static Executor sharedExecutor() {
+        return SHARED_EXECUTOR;
+    }
+
+    // One virtual thread per call on JDK 21+, where blocked calls cost almost nothing; a cached
+    // pool of daemon threads on older JDKs. Looked up reflectively so this compiles on both.
+    private static ExecutorService newExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "facade-call");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    static void simulateLatency(Duration latency) {
+        if (latency.isZero()) {
+            return;
+        }
+        try {
+            Thread.sleep(latency.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the subsystem.", e);
+        }
+    }
 }
 
 // Client code
 public class FacadePatternDemo {
+    private static final int RUNS = 10;
+
+    // 'java FacadePatternDemo async' also runs the async facade; 'java FacadePatternDemo bench'
+    // prints the latency comparison instead
     public static void main(String[] args) {
+        String mode = args.length > 0 ? args[0] : "";
+        if (mode.equals("bench")) {
+            compareLatency();
+            return;
+        }
+
         Facade facade = new Facade();
         facade.simpleOperation(); // Simplified interface to perform complex operations
+        if (mode.equals("async")) {
+            System.out.println("Async result: " + facade.simpleOperationAsync().join());
+        }
+    }
+
+    // Subsystems taking 50 ms and 80 ms: called one after the other the facade takes about
+    // their sum, called together about the slower one. With a 30 ms timeout on the 80 ms
+    // subsystem the facade answers as soon as the 50 ms one does, with the fallback.
+    // The subsystems do not print, so only their latency is timed.
+    private static void compareLatency() {
+        Subsystem1 fast = new Subsystem1(Duration.ofMillis(50), false);
+        Subsystem2 slow = new Subsystem2(Duration.ofMillis(80), false);
+        Executor executor = Facade.sharedExecutor();
+        Facade facade = new Facade(fast, slow, executor, Facade.DEFAULT_TIMEOUT, Facade.DEFAULT_TIMEOUT);
+        Facade impatient = new Facade(fast, slow, executor, Facade.DEFAULT_TIMEOUT, Duration.ofMillis(30));
+
+        long[] sequential = new long[RUNS];
+        long[] parallel = new long[RUNS];
+        long[] timedOut = new long[RUNS];
+        String fallbackResult = null;
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            facade.simpleOperation();
+            sequential[i] = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            facade.simpleOperationAsync().join();
+            parallel[i] = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            fallbackResult = impatient.simpleOperationAsync().join();
+            timedOut[i] = System.nanoTime() - start;
+        }
+
+        System.out.println("Median of " + RUNS + " runs, subsystems taking 50 ms and 80 ms:");
+        System.out.printf("  sequential facade:    %.1f ms%n", medianMillis(sequential));
+        System.out.printf("  async facade:         %.1f ms%n", medianMillis(parallel));
+        System.out.printf("  async, 30 ms timeout: %.1f ms (%s)%n", medianMillis(timedOut), fallbackResult);
+    }
+
+    private static double medianMillis(long[] nanos) {
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2] / 1_000_000.0;
     }
 }
@@ -1,5 +0,0 @@
-public enum PriorityLevel {
-    HIGH,
-    MEDIUM,
-    LOW
-}
\ No newline at end of file
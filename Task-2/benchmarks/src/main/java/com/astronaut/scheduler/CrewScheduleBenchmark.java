@@ -0,0 +1,80 @@
+package com.astronaut.scheduler;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Crew-wide queries over a four-week mission, parallel across shards against a plain loop
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class CrewScheduleBenchmark {
+    private static final LocalDate MISSION_START = LocalDate.of(2030, 1, 1);
+    private static final int DAYS = 28;
+    private static final int TASKS_PER_DAY = 470;
+
+    @Param({"6", "24"})
+    int crewSize;
+
+    private CrewSchedule crew;
+    private Map<ScheduleKey, List<Task>> proposed;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ScheduleFixtures.silence();
+        crew = new CrewSchedule(IndexedTaskStore::new);
+        proposed = new HashMap<>();
+        for (int member = 0; member < crewSize; member++) {
+            for (int day = 0; day < DAYS; day++) {
+                ScheduleKey key = new ScheduleKey("astronaut-" + member, MISSION_START.plusDays(day));
+                List<Task> tasks = new ArrayList<>();
+                List<Task> candidates = new ArrayList<>();
+                // Two-minute tasks every three minutes; every proposed task overlaps one of them
+                for (int i = 0; i < TASKS_PER_DAY; i++) {
+                    int minute = i * 3;
+                    tasks.add(ScheduleFixtures.minuteTask("task-" + i, minute, minute + 2, i));
+                    candidates.add(ScheduleFixtures.minuteTask("proposed-" + i, minute + 1, minute + 3, i));
+                }
+                crew.schedule(key).addTasks(tasks);
+                proposed.put(key, candidates);
+            }
+        }
+    }
+
+    @Benchmark
+    public Map<ScheduleKey, List<Task>> highTasksThisWeek() {
+        return crew.getTasksByPriority(PriorityLevel.HIGH, MISSION_START, MISSION_START.plusDays(6));
+    }
+
+    @Benchmark
+    public Map<ScheduleKey, List<Task>> bulkConflictCheckParallel() {
+        return crew.findConflicts(proposed);
+    }
+
+    @Benchmark
+    public Map<ScheduleKey, List<Task>> bulkConflictCheckSequential() {
+        Map<ScheduleKey, List<Task>> conflicts = new HashMap<>();
+        for (Map.Entry<ScheduleKey, List<Task>> e : proposed.entrySet()) {
+            conflicts.put(e.getKey(), CrewSchedule.findConflicts(crew.schedule(e.getKey()), e.getValue()));
+        }
+        return conflicts;
+    }
+}
@@ -0,0 +1,90 @@
+package com.astronaut.scheduler;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+
+// Retained heap of the task stores, alone and inside a ScheduleManager, reported per 100k
+// tasks. Not a JMH benchmark:
+//   java -cp benchmarks/target/benchmarks.jar com.astronaut.scheduler.FootprintReport
+// The tasks are spread over day-sized schedules of TASKS_PER_DAY one-minute tasks, since a
+// compact store holds at most one task per minute of a single day. A manager also keeps its
+// published version, whose trees hold Task objects whatever the store, and the versions of
+// its last 100 changes for undo; tasks are added one at a time, as the console adds them.
+public class FootprintReport {
+    private static final int TASK_COUNT = 100_000;
+    private static final int TASKS_PER_DAY = 1_000;
+    private static final PriorityLevel[] PRIORITIES = PriorityLevel.values();
+    private static final PrintStream QUIET = new PrintStream(OutputStream.nullOutputStream());
+
+    public static void main(String[] args) {
+        LoggerManager.getLogger().setLevel(Level.OFF);
+        ScheduleStats stats = new ScheduleStats();
+        Function<Supplier<TaskStore>, Function<List<Task>, Object>> stores = factory -> day -> {
+            TaskStore store = factory.get();
+            day.forEach(store::add);
+            return store;
+        };
+        Function<Supplier<TaskStore>, Function<List<Task>, Object>> managers = factory -> day -> {
+            ScheduleManager manager = new ScheduleManager(factory.get(), stats, QUIET);
+            day.forEach(manager::addTask);
+            return manager;
+        };
+
+        // Warm up class loading and the JIT so they do not show up as retained heap
+        measure("warm-up", managers.apply(IndexedTaskStore::new), false);
+        measure("warm-up", managers.apply(CompactTaskStore::new), false);
+
+        System.out.printf("%-20s %14s %14s%n", "layout", "bytes/100k", "bytes/task");
+        measure("indexed (default)", stores.apply(IndexedTaskStore::new), true);
+        measure("compact", stores.apply(CompactTaskStore::new), true);
+        measure("manager, indexed", managers.apply(IndexedTaskStore::new), true);
+        measure("manager, compact", managers.apply(CompactTaskStore::new), true);
+    }
+
+    // 'schedule' builds one day's schedule from its tasks
+    private static void measure(String name, Function<List<Task>, Object> schedule, boolean print) {
+        // Descriptions are created up front: every layout keeps the same strings
+        String[] descriptions = new String[TASK_COUNT];
+        for (int i = 0; i < TASK_COUNT; i++) {
+            descriptions[i] = "task-" + i;
+        }
+
+        long before = usedHeap();
+        List<Object> schedules = new ArrayList<>();
+        List<Task> day = new ArrayList<>(TASKS_PER_DAY);
+        for (int i = 0; i < TASK_COUNT; i++) {
+            int minute = i % TASKS_PER_DAY;
+            day.add(new Task(descriptions[i], LocalTime.of(minute / 60, minute % 60),
+                    LocalTime.of((minute + 1) / 60, (minute + 1) % 60), PRIORITIES[i % PRIORITIES.length]));
+            if (day.size() == TASKS_PER_DAY) {
+                schedules.add(schedule.apply(day));
+                day = new ArrayList<>(TASKS_PER_DAY);
+            }
+        }
+        long retained = usedHeap() - before;
+
+        if (print) {
+            System.out.printf("%-20s %14d %14.1f%n", name, retained * 100_000L / TASK_COUNT, (double) retained / TASK_COUNT);
+        }
+        // Keep everything reachable until after the measurement
+        if (schedules.size() * descriptions.length == 0) {
+            System.out.println();
+        }
+    }
+
+    private static long usedHeap() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
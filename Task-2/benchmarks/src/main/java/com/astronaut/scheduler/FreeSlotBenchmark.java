@@ -0,0 +1,63 @@
+package com.astronaut.scheduler;
+
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// findFreeSlots on a dense schedule where every gap is half a slot long
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class FreeSlotBenchmark {
+    @Param({"10", "1000", "100000", "1000000"})
+    int size;
+
+    private ScheduleManager manager;
+    private Duration fitsEveryGap;
+    private Duration fitsWholeSlot;
+    private TimeSlot fromMidday;
+    private TimeSlot oneHour;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ScheduleFixtures.silence();
+        manager = ScheduleFixtures.filledSchedule(size);
+        long slot = ScheduleFixtures.NANOS_PER_DAY / size;
+        fitsEveryGap = Duration.ofNanos(slot / 4);
+        // Longer than any fully free gap; only fits where lower-priority tasks count as free
+        fitsWholeSlot = Duration.ofNanos(slot);
+        fromMidday = new TimeSlot(LocalTime.NOON, LocalTime.MAX);
+        oneHour = new TimeSlot(LocalTime.NOON, LocalTime.of(13, 0));
+    }
+
+    @Benchmark
+    public List<TimeSlot> earliestFreeSlot() {
+        return manager.findFreeSlots(fitsEveryGap, fromMidday, PriorityLevel.LOW, 1);
+    }
+
+    @Benchmark
+    public List<TimeSlot> highPriorityFreeSlot() {
+        return manager.findFreeSlots(fitsWholeSlot, fromMidday, PriorityLevel.HIGH, 1);
+    }
+
+    @Benchmark
+    public List<TimeSlot> allFreeSlotsInOneHour() {
+        return manager.findFreeSlots(fitsEveryGap, oneHour, PriorityLevel.LOW);
+    }
+}
@@ -0,0 +1,94 @@
+package com.astronaut.scheduler;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Bulk input with a share of invalid rows; scores are rows per second
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ImportBenchmark {
+    private static final int ROWS = 1000;
+
+    @Param({"0", "10", "50"})
+    int invalidPercent;
+
+    private String[][] rows;
+    private String csv;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ScheduleFixtures.silence();
+        rows = new String[ROWS][];
+        StringBuilder file = new StringBuilder();
+        for (int i = 0; i < ROWS; i++) {
+            // One-minute tasks in distinct minutes, so every valid row is accepted
+            String start = String.format("%02d:%02d", i / 60, i % 60);
+            String end = String.format("%02d:%02d", (i + 1) / 60, (i + 1) % 60);
+            String[] row = {"task-" + i, start, end, "High"};
+            // Spread the invalid rows evenly and cycle through the kinds of error
+            if ((i * invalidPercent) % 100 + invalidPercent >= 100) {
+                switch (i % 3) {
+                    case 0 -> row[1] = "9h" + i;
+                    case 1 -> row[3] = "Urgent";
+                    default -> row[2] = start;
+                }
+            }
+            rows[i] = row;
+            file.append(String.join(",", row)).append('\n');
+        }
+        csv = file.toString();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public int createTasks() {
+        int created = 0;
+        for (String[] row : rows) {
+            try {
+                TaskFactory.createTask(row[0], row[1], row[2], row[3]);
+                created++;
+            } catch (InvalidTimeException e) {
+                // Counted as rejected
+            }
+        }
+        return created;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public int validateThenCreate() throws InvalidTimeException {
+        int created = 0;
+        for (String[] row : rows) {
+            if (TaskFactory.validate(row[0], row[1], row[2], row[3]) == TaskValidation.VALID) {
+                TaskFactory.createTask(row[0], row[1], row[2], row[3]);
+                created++;
+            }
+        }
+        return created;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public ImportReport importCsv() throws IOException {
+        return TaskImporter.importTasks(new BufferedReader(new StringReader(csv)), false, new ScheduleManager());
+    }
+}
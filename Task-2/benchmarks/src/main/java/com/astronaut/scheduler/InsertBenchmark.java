@@ -0,0 +1,60 @@
+package com.astronaut.scheduler;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// addTask on a schedule that already holds 'size' tasks
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class InsertBenchmark {
+    private static final int PROBES = 1024;
+
+    @Param({"10", "1000", "100000", "1000000"})
+    int size;
+
+    ScheduleManager manager;
+    Task[] conflicting;
+    Task[] gaps;
+    int next;
+
+    @Setup
+    public void setUp() {
+        ScheduleFixtures.silence();
+        manager = ScheduleFixtures.filledSchedule(size);
+        conflicting = new Task[PROBES];
+        gaps = new Task[PROBES];
+        for (int i = 0; i < PROBES; i++) {
+            int slot = (int) ((long) i * size / PROBES);
+            conflicting[i] = ScheduleFixtures.conflictingTask(slot, size);
+            gaps[i] = ScheduleFixtures.gapTask(slot, size);
+        }
+    }
+
+    // Conflict check that ends in a rejection; the schedule is left unchanged
+    @Benchmark
+    public void insertRejectedByConflict() {
+        manager.addTask(conflicting[next++ & (PROBES - 1)]);
+    }
+
+    // Conflict-free insert into a gap, then removal to restore the schedule
+    @Benchmark
+    public void insertThenRemove() {
+        Task task = gaps[next++ & (PROBES - 1)];
+        manager.addTask(task);
+        manager.removeTask(task.getDescription());
+    }
+}
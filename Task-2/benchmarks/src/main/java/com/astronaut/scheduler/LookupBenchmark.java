@@ -0,0 +1,66 @@
+package com.astronaut.scheduler;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Operations that find a task by its description
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class LookupBenchmark {
+    private static final int PROBES = 1024;
+
+    @Param({"10", "1000", "100000", "1000000"})
+    int size;
+
+    ScheduleManager manager;
+    String[] present;
+    String[] absent;
+    int next;
+
+    @Setup
+    public void setUp() {
+        ScheduleFixtures.silence();
+        manager = ScheduleFixtures.filledSchedule(size);
+        present = new String[PROBES];
+        absent = new String[PROBES];
+        for (int i = 0; i < PROBES; i++) {
+            // Upper case to exercise the case-insensitive key
+            present[i] = ("task-" + (int) ((long) i * size / PROBES)).toUpperCase();
+            absent[i] = "missing-" + i;
+        }
+    }
+
+    @Benchmark
+    public Task getTaskHit() {
+        return manager.getTask(present[next++ & (PROBES - 1)]);
+    }
+
+    @Benchmark
+    public Task getTaskMiss() {
+        return manager.getTask(absent[next++ & (PROBES - 1)]);
+    }
+
+    @Benchmark
+    public void markTaskAsCompleted() {
+        manager.markTaskAsCompleted(present[next++ & (PROBES - 1)]);
+    }
+
+    @Benchmark
+    public void removeMissingTask() {
+        manager.removeTask(absent[next++ & (PROBES - 1)]);
+    }
+}
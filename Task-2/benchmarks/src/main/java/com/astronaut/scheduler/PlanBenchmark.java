@@ -0,0 +1,54 @@
+package com.astronaut.scheduler;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// ScheduleOptimizer on candidates of 1 to 120 minutes at random whole minutes, so most of
+// them overlap; the answer is a plan of a few hundred to a few thousand tasks
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class PlanBenchmark {
+    private static final PriorityLevel[] PRIORITIES = PriorityLevel.values();
+
+    @Param({"1000", "100000", "1000000"})
+    int size;
+
+    private List<Task> candidates;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ScheduleFixtures.silence();
+        Random random = new Random(42);
+        candidates = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            int start = random.nextInt(24 * 60 - 1);
+            int end = Math.min(24 * 60 - 1, start + 1 + random.nextInt(120));
+            candidates.add(new Task("candidate-" + i, LocalTime.of(start / 60, start % 60),
+                    LocalTime.of(end / 60, end % 60), PRIORITIES[random.nextInt(PRIORITIES.length)]));
+        }
+    }
+
+    @Benchmark
+    public PlanReport optimize() {
+        return ScheduleOptimizer.optimize(candidates);
+    }
+}
@@ -0,0 +1,76 @@
+package com.astronaut.scheduler;
+
+import java.time.LocalTime;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Total read throughput with 1, 2, 4 and 8 reader threads on one schedule. 'lookup' takes
+// the read lock for getTask; 'range' reads the published version without a lock. Readers
+// share the CPUs, so the results only show scaling on a machine with at least 8 of them.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class ReaderScalingBenchmark {
+    private static final LocalTime WINDOW_START = LocalTime.of(9, 0);
+    private static final LocalTime WINDOW_END = LocalTime.of(9, 15);
+
+    @Param({"1000", "100000"})
+    int size;
+
+    @Param({"lookup", "range"})
+    String read;
+
+    ScheduleManager manager;
+    String someTask;
+    boolean lookup;
+
+    @Setup
+    public void setUp() {
+        ScheduleFixtures.silence();
+        manager = ScheduleFixtures.filledSchedule(size);
+        someTask = "task-" + (size / 2);
+        lookup = read.equals("lookup");
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Object readers1() {
+        return read();
+    }
+
+    @Benchmark
+    @Threads(2)
+    public Object readers2() {
+        return read();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Object readers4() {
+        return read();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Object readers8() {
+        return read();
+    }
+
+    private Object read() {
+        return lookup ? manager.getTask(someTask) : manager.getTasksBetween(WINDOW_START, WINDOW_END);
+    }
+}
@@ -0,0 +1,65 @@
+package com.astronaut.scheduler;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Startup time against journal length: restore a schedule from a journal of
+// 'journalLength' single-task records and no snapshot
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class RecoveryBenchmark {
+    @Param({"1000", "10000", "100000"})
+    int journalLength;
+
+    Path directory;
+
+    @Setup(Level.Trial)
+    public void writeJournal() throws IOException {
+        ScheduleFixtures.silence();
+        directory = Files.createTempDirectory("schedule-recovery");
+        ScheduleManager writer = new ScheduleManager();
+        writer.enablePersistence(directory, Integer.MAX_VALUE);
+        for (int i = 0; i < journalLength; i++) {
+            writer.addTask(ScheduleFixtures.fixtureTask(i, journalLength));
+        }
+        writer.closePersistence();
+    }
+
+    @Benchmark
+    public ScheduleManager restore() throws IOException {
+        ScheduleManager manager = new ScheduleManager();
+        manager.enablePersistence(directory, Integer.MAX_VALUE);
+        manager.closePersistence();
+        return manager;
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteJournal() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(file);
+            }
+        }
+    }
+}
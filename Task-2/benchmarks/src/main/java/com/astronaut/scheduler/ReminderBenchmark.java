@@ -0,0 +1,75 @@
+package com.astronaut.scheduler;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Reminder scheduling against the number of pending reminders: a timer wheel schedule plus
+// cancel, and a reminder engine tick picking up one moved task
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class ReminderBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    int size;
+
+    private TimerWheel<Integer> wheel;
+    private long nextDeadline;
+
+    private ScheduleManager manager;
+    private ReminderEngine engine;
+    private LocalTime[] moveTargets;
+    private int move;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ScheduleFixtures.silence();
+        wheel = new TimerWheel<>(4096, 0);
+        for (int i = 0; i < size; i++) {
+            wheel.schedule(1 + i % 86_400, i);
+        }
+
+        manager = ScheduleFixtures.filledSchedule(size);
+        // The clock stands still at midnight, so every reminder stays pending
+        Clock midnight = Clock.fixed(LocalDate.of(2026, 1, 1).atStartOfDay().toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+        engine = new ReminderEngine(manager, midnight, Duration.ofMinutes(10));
+        engine.tick();
+        // Task 1 moves into its free half slot and back
+        Task task = ScheduleFixtures.fixtureTask(1, size);
+        long slot = ScheduleFixtures.NANOS_PER_DAY / size;
+        moveTargets = new LocalTime[]{LocalTime.ofNanoOfDay(task.getStartTime().toNanoOfDay() + slot / 2), task.getStartTime()};
+    }
+
+    @Benchmark
+    public int scheduleThenCancel() {
+        TimerWheel.Timeout<Integer> timeout = wheel.schedule(1 + (nextDeadline++ % 86_400), 0);
+        wheel.cancel(timeout);
+        return wheel.size();
+    }
+
+    // Includes the reschedule itself; the tick diffs two versions and updates two reminders
+    @Benchmark
+    public int rescheduleThenTick() {
+        manager.rescheduleTask("task-1", moveTargets[move++ & 1]);
+        engine.tick();
+        return engine.getPendingCount();
+    }
+}
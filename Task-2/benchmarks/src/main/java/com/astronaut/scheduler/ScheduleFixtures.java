@@ -0,0 +1,61 @@
+package com.astronaut.scheduler;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+
+// Shared setup for the benchmarks
+final class ScheduleFixtures {
+    static final long NANOS_PER_DAY = 86_400_000_000_000L;
+    private static final PriorityLevel[] PRIORITIES = PriorityLevel.values();
+
+    private ScheduleFixtures() {}
+
+    // ScheduleManager prints to the console and logs every operation; keep both out of the measurements
+    static void silence() {
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        LoggerManager.getLogger().setLevel(Level.OFF);
+    }
+
+    // Task i occupies the first half of slot i when the day is cut into 'size' equal slots,
+    // so the second half of every slot is free. Priorities cycle HIGH, MEDIUM, LOW.
+    static Task fixtureTask(int i, int size) {
+        long slot = NANOS_PER_DAY / size;
+        long start = i * slot;
+        return new Task("task-" + i, LocalTime.ofNanoOfDay(start), LocalTime.ofNanoOfDay(start + slot / 2), PRIORITIES[i % PRIORITIES.length]);
+    }
+
+    // Whole-minute task from minute 'from' to minute 'to' of the day; priorities cycle with i
+    static Task minuteTask(String description, int from, int to, int i) {
+        return new Task(description, LocalTime.of(from / 60, from % 60), LocalTime.of(to / 60, to % 60), PRIORITIES[i % PRIORITIES.length]);
+    }
+
+    static ScheduleManager filledSchedule(int size) {
+        List<Task> fixture = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            fixture.add(fixtureTask(i, size));
+        }
+        ScheduleManager manager = new ScheduleManager();
+        manager.addTasks(fixture);
+        return manager;
+    }
+
+    // A task in the free second half of slot i
+    static Task gapTask(int i, int size) {
+        long slot = NANOS_PER_DAY / size;
+        long start = i * slot + slot / 2;
+        return new Task("gap-" + i, LocalTime.ofNanoOfDay(start), LocalTime.ofNanoOfDay(start + slot / 4), PriorityLevel.LOW);
+    }
+
+    // A HIGH task spanning slots i..i+2, so it always overlaps a HIGH fixture task and is rejected
+    static Task conflictingTask(int i, int size) {
+        long slot = NANOS_PER_DAY / size;
+        int first = Math.min(i, Math.max(0, size - 3));
+        long start = first * slot + slot / 4;
+        long end = Math.min(start + 2 * slot, NANOS_PER_DAY - 1);
+        return new Task("conflict-" + i, LocalTime.ofNanoOfDay(start), LocalTime.ofNanoOfDay(end), PriorityLevel.HIGH);
+    }
+}
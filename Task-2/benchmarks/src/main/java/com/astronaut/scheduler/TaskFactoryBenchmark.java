@@ -0,0 +1,60 @@
+package com.astronaut.scheduler;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Parsing and validation of user input
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TaskFactoryBenchmark {
+    String description = "EVA prep";
+    String start = "09:00";
+    String end = "10:30";
+    String badTime = "9h00";
+    String priority = "High";
+    String badPriority = "Urgent";
+
+    @Benchmark
+    public Task validInput() throws InvalidTimeException {
+        return TaskFactory.createTask(description, start, end, priority);
+    }
+
+    @Benchmark
+    public Object invalidTime() {
+        try {
+            return TaskFactory.createTask(description, badTime, end, priority);
+        } catch (InvalidTimeException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Object invalidPriority() {
+        try {
+            return TaskFactory.createTask(description, start, end, badPriority);
+        } catch (InvalidTimeException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Object endBeforeStart() {
+        try {
+            return TaskFactory.createTask(description, end, start, priority);
+        } catch (InvalidTimeException e) {
+            return e;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.astronaut.scheduler;
+
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Sorted views of the schedule
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class ViewBenchmark {
+    private static final LocalTime WINDOW_START = LocalTime.of(9, 0);
+    private static final LocalTime WINDOW_END = LocalTime.of(9, 15);
+
+    @Param({"10", "1000", "100000", "1000000"})
+    int size;
+
+    ScheduleManager manager;
+    String someTask;
+
+    @Setup
+    public void setUp() {
+        ScheduleFixtures.silence();
+        manager = ScheduleFixtures.filledSchedule(size);
+        someTask = "task-" + (size / 2);
+    }
+
+    // Unchanged schedule: served from the published version
+    @Benchmark
+    public List<Task> getTasks() {
+        return manager.getTasks();
+    }
+
+    @Benchmark
+    public List<Task> getTasksByPriority() {
+        return manager.getTasksByPriority(PriorityLevel.MEDIUM);
+    }
+
+    @Benchmark
+    public List<Task> getTasksBetween() {
+        return manager.getTasksBetween(WINDOW_START, WINDOW_END);
+    }
+
+    // A write before every read; the write publishes a new version in O(log n)
+    @Benchmark
+    public List<Task> getTasksAfterWrite() {
+        manager.markTaskAsCompleted(someTask);
+        return manager.getTasks();
+    }
+}
@@ -0,0 +1,146 @@
+package com.astronaut.scheduler;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.ErrorManager;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+// Appends log records to a RollingLogStore from a background writer thread.
+// Callers only enqueue the LogRecord into a bounded queue; formatting and file I/O
+// happen on the writer, which drains the queue in batches and flushes once per batch.
+public class AsyncLogHandler extends Handler {
+    public enum OverflowPolicy {
+        // Discard the record when the queue is full
+        DROP,
+        // Wait for the writer to make room
+        BLOCK,
+        // Above the high-water mark keep only one in 'sampleRate' records below WARNING;
+        // anything that still does not fit is dropped
+        SAMPLE
+    }
+
+    private static final int MAX_BATCH = 512;
+
+    private final BlockingQueue<LogRecord> queue;
+    private final int highWaterMark;
+    private final OverflowPolicy overflowPolicy;
+    private final int sampleRate;
+    private final RollingLogStore out;
+    private final Thread writerThread;
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong sampleCounter = new AtomicLong();
+    private volatile boolean closed;
+
+    public AsyncLogHandler(RollingLogStore out, int capacity, OverflowPolicy overflowPolicy, int sampleRate) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.highWaterMark = capacity - capacity / 4;
+        this.overflowPolicy = overflowPolicy;
+        this.sampleRate = Math.max(1, sampleRate);
+        this.out = out;
+        this.writerThread = new Thread(this::drainLoop, "scheduler-log-writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    @Override
+    public void publish(LogRecord record) {
+        if (closed || !isLoggable(record)) {
+            return;
+        }
+        boolean queued;
+        switch (overflowPolicy) {
+            case BLOCK -> {
+                try {
+                    queue.put(record);
+                    queued = true;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    queued = false;
+                }
+            }
+            case SAMPLE -> {
+                boolean sampledOut = queue.size() >= highWaterMark
+                        && record.getLevel().intValue() < Level.WARNING.intValue()
+                        && sampleCounter.incrementAndGet() % sampleRate != 0;
+                queued = !sampledOut && queue.offer(record);
+            }
+            default -> queued = queue.offer(record);
+        }
+        if (!queued) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    @Override
+    public void flush() {
+        // The writer flushes after every batch
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            writerThread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            out.close();
+        } catch (IOException e) {
+            reportError("Failed to close log file.", e, ErrorManager.CLOSE_FAILURE);
+        }
+    }
+
+    private void drainLoop() {
+        List<LogRecord> batch = new ArrayList<>(MAX_BATCH);
+        long droppedReported = 0;
+        while (!closed || !queue.isEmpty()) {
+            try {
+                LogRecord first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, MAX_BATCH - 1);
+
+                long droppedNow = dropped.get();
+                if (droppedNow != droppedReported) {
+                    LogRecord notice = droppedNotice(droppedNow - droppedReported);
+                    out.append(notice, getFormatter().format(notice));
+                    droppedReported = droppedNow;
+                }
+                for (LogRecord record : batch) {
+                    out.append(record, getFormatter().format(record));
+                }
+                out.flush();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (IOException e) {
+                reportError("Failed to write log records.", e, ErrorManager.WRITE_FAILURE);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private static LogRecord droppedNotice(long count) {
+        LogRecord notice = new LogRecord(Level.WARNING, "{0} log records dropped: log queue was full.");
+        notice.setParameters(new Object[]{count});
+        return notice;
+    }
+}
@@ -0,0 +1,100 @@
+package com.astronaut.scheduler;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// Decorator that delivers updates to another Observer off the caller's thread.
+// Each wrapped observer has its own bounded queue and at most one drain task running,
+// so messages reach it in order while a slow or failing observer only backs up itself.
+// When the queue is full update() waits up to offerTimeoutMillis, then drops and counts the
+// message. The default is DROP_WHEN_FULL, no wait at all: ScheduleManager notifies with its
+// write lock held, so waiting on one slow observer would stall every writer. Pass a positive
+// timeout for bounded backpressure where the caller can afford to wait.
+public class AsyncObserver implements Observer {
+    public static final long DROP_WHEN_FULL = 0;
+    private static final Executor DEFAULT_EXECUTOR = ThreadPools.newPerTaskExecutor("observer-dispatch");
+    private static final int DEFAULT_CAPACITY = 1024;
+    // Yield the thread after this many messages so one busy observer cannot hog it
+    private static final int MAX_DRAIN = 256;
+    private static final Logger logger = LoggerManager.getLogger();
+
+    private final Observer delegate;
+    private final BlockingQueue<String> pending;
+    private final Executor executor;
+    private final long offerTimeoutMillis;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicLong dropped = new AtomicLong();
+
+    public AsyncObserver(Observer delegate) {
+        this(delegate, DEFAULT_EXECUTOR, DEFAULT_CAPACITY, DROP_WHEN_FULL);
+    }
+
+    public AsyncObserver(Observer delegate, Executor executor, int capacity, long offerTimeoutMillis) {
+        this.delegate = delegate;
+        this.executor = executor;
+        this.pending = new ArrayBlockingQueue<>(capacity);
+        this.offerTimeoutMillis = offerTimeoutMillis;
+    }
+
+    @Override
+    public void update(String message) {
+        boolean queued;
+        try {
+            queued = pending.offer(message, offerTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            queued = false;
+        }
+        if (!queued) {
+            dropped.incrementAndGet();
+            logger.log(Level.WARNING, "Notification dropped for observer {0}: queue is full.", delegate.getClass().getSimpleName());
+            return;
+        }
+        scheduleDrain();
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    private void scheduleDrain() {
+        if (draining.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                draining.set(false);
+                logger.log(Level.SEVERE, "Notification executor rejected observer {0}.", delegate.getClass().getSimpleName());
+            }
+        }
+    }
+
+    private void drain() {
+        try {
+            String message;
+            for (int i = 0; i < MAX_DRAIN && (message = pending.poll()) != null; i++) {
+                try {
+                    delegate.update(message);
+                } catch (RuntimeException e) {
+                    logger.log(Level.WARNING, "Observer {0} failed: {1}", new Object[]{delegate.getClass().getSimpleName(), e});
+                }
+            }
+        } finally {
+            draining.set(false);
+            // A message may have arrived after the last poll but before the flag was cleared
+            if (!pending.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+    }
+}
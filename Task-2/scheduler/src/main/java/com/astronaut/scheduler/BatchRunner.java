@@ -0,0 +1,257 @@
+package com.astronaut.scheduler;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// Runs console commands from a script, one per line, without prompts:
+//   add "EVA prep" 09:00 10:30 high        add --auto "EVA prep" 09:00 10:30 high
+//   remove "EVA prep"                      mark "EVA prep"
+//   edit "EVA prep" "EVA drill" 11:00 12:00 medium
+//   add --repeat "Comms pass" 08:00 08:20 01:30 20:00 high    skip "Comms pass" 09:30
+//   view    view priority high    view range 09:00 12:00    import tasks.csv    plan tasks.csv
+//   undo    redo    stats    exit
+// Arguments are separated by spaces; double quotes group an argument that contains them.
+// Blank lines and lines starting with # are skipped. A bad line is reported and skipped.
+public class BatchRunner {
+    private static final Logger logger = LoggerManager.getLogger();
+
+    private final ScheduleManager manager;
+    private final PrintStream out;
+    private final Map<String, Long> commandCounts = new TreeMap<>();
+    private long commands;
+    private long failures;
+
+    public BatchRunner(ScheduleManager manager) {
+        this(manager, System.out);
+    }
+
+    // Command output goes to 'out'; callers wanting speed pass a buffered stream
+    public BatchRunner(ScheduleManager manager, PrintStream out) {
+        this.manager = manager;
+        this.out = out;
+    }
+
+    public void run(BufferedReader script) throws IOException {
+        long startNanos = System.nanoTime();
+        long lineNumber = 0;
+        String line;
+
+        while ((line = script.readLine()) != null) {
+            lineNumber++;
+            String trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                continue;
+            }
+            if (trimmed.equalsIgnoreCase("exit")) {
+                break;
+            }
+
+            try {
+                List<String> args = tokenize(trimmed);
+                String command = execute(args);
+                commands++;
+                commandCounts.merge(command, 1L, Long::sum);
+            } catch (InvalidTimeException | IllegalArgumentException e) {
+                failures++;
+                out.println("Line " + lineNumber + ": " + e.getMessage());
+                logger.log(Level.WARNING, "Batch line {0} failed: {1}", new Object[]{lineNumber, e.getMessage()});
+            }
+        }
+
+        printSummary(System.nanoTime() - startNanos);
+    }
+
+    public long getCommandCount() {
+        return commands;
+    }
+
+    public long getFailureCount() {
+        return failures;
+    }
+
+    // One script line, for callers that read commands themselves such as ScheduleServer.
+    // Returns the command name; a bad line throws like in run().
+    String executeLine(String line) throws InvalidTimeException {
+        return execute(tokenize(line));
+    }
+
+    // Returns the command name used in the summary
+    private String execute(List<String> args) throws InvalidTimeException {
+        String command = args.get(0).toLowerCase(Locale.ROOT);
+        switch (command) {
+            case "add" -> {
+                if (args.size() > 1 && args.get(1).equals("--auto")) {
+                    expectArguments(args, 6, "add --auto \"description\" HH:MM HH:MM priority");
+                    manager.autoPlaceTask(TaskFactory.createTask(args.get(2), args.get(3), args.get(4), args.get(5)), out);
+                    return "add --auto";
+                }
+                if (args.size() > 1 && args.get(1).equals("--repeat")) {
+                    expectArguments(args, 8, "add --repeat \"description\" HH:MM HH:MM every until priority");
+                    manager.addRecurringTask(TaskFactory.createRecurringTask(args.get(2), args.get(3), args.get(4),
+                            args.get(5), args.get(6), args.get(7)), out);
+                    return "add --repeat";
+                }
+                expectArguments(args, 5, "add \"description\" HH:MM HH:MM priority");
+                manager.addTask(TaskFactory.createTask(args.get(1), args.get(2), args.get(3), args.get(4)), out);
+                return command;
+            }
+            case "remove" -> {
+                expectArguments(args, 2, "remove \"description\"");
+                manager.removeTask(args.get(1), out);
+                return command;
+            }
+            case "skip" -> {
+                expectArguments(args, 3, "skip \"description\" HH:MM");
+                try {
+                    manager.skipOccurrence(args.get(1), LocalTime.parse(args.get(2)), out);
+                } catch (DateTimeParseException e) {
+                    throw new IllegalArgumentException("Invalid time format. Please use HH:MM (24-hour format).");
+                }
+                return command;
+            }
+            case "mark" -> {
+                expectArguments(args, 2, "mark \"description\"");
+                manager.markTaskAsCompleted(args.get(1), out);
+                return command;
+            }
+            case "edit" -> {
+                expectArguments(args, 6, "edit \"old description\" \"description\" HH:MM HH:MM priority");
+                manager.editTask(args.get(1), TaskFactory.createTask(args.get(2), args.get(3), args.get(4), args.get(5)), out);
+                return command;
+            }
+            case "view" -> {
+                return view(args);
+            }
+            case "undo" -> {
+                expectArguments(args, 1, "undo");
+                manager.undo(out);
+                return command;
+            }
+            case "redo" -> {
+                expectArguments(args, 1, "redo");
+                manager.redo(out);
+                return command;
+            }
+            case "stats" -> {
+                expectArguments(args, 1, "stats");
+                manager.getStats().printReport(out);
+                return command;
+            }
+            case "import" -> {
+                expectArguments(args, 2, "import path");
+                importFile(args.get(1), false);
+                return command;
+            }
+            case "plan" -> {
+                expectArguments(args, 2, "plan path");
+                importFile(args.get(1), true);
+                return command;
+            }
+            default -> throw new IllegalArgumentException("Unknown command '" + args.get(0) + "'.");
+        }
+    }
+
+    private String view(List<String> args) {
+        if (args.size() == 1) {
+            manager.viewTasks(out);
+            return "view";
+        }
+        String mode = args.get(1).toLowerCase(Locale.ROOT);
+        if (mode.equals("priority")) {
+            expectArguments(args, 3, "view priority high|medium|low");
+            PriorityLevel priority;
+            try {
+                priority = PriorityLevel.valueOf(args.get(2).toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid priority level.");
+            }
+            manager.viewTasksByPriority(priority, out);
+            return "view priority";
+        }
+        if (mode.equals("range")) {
+            expectArguments(args, 4, "view range HH:MM HH:MM");
+            try {
+                LocalTime from = LocalTime.parse(args.get(2));
+                LocalTime to = LocalTime.parse(args.get(3));
+                if (!from.isBefore(to)) {
+                    throw new IllegalArgumentException("Range start must be before range end.");
+                }
+                manager.viewTasksBetween(from, to, out);
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid time format. Please use HH:MM (24-hour format).");
+            }
+            return "view range";
+        }
+        throw new IllegalArgumentException("Unknown command 'view " + args.get(1) + "'.");
+    }
+
+    // With plan = true the file's tasks are chosen together by ScheduleManager.planTasks
+    private void importFile(String fileName, boolean plan) {
+        try {
+            ImportReport report = plan ? TaskImporter.planFile(Path.of(fileName), manager) : TaskImporter.importFile(Path.of(fileName), manager);
+            out.println((plan ? "Plan" : "Import") + " finished: " + report);
+        } catch (IOException | InvalidPathException e) {
+            throw new IllegalArgumentException("Could not read file: " + e.getMessage());
+        }
+    }
+
+    private static void expectArguments(List<String> args, int count, String usage) {
+        if (args.size() != count) {
+            throw new IllegalArgumentException("Usage: " + usage);
+        }
+    }
+
+    // Splits on spaces; "double quotes" group an argument
+    static List<String> tokenize(String line) {
+        List<String> args = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        boolean inArgument = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                quoted = !quoted;
+                inArgument = true;
+            } else if (Character.isWhitespace(c) && !quoted) {
+                if (inArgument) {
+                    args.add(current.toString());
+                    current.setLength(0);
+                    inArgument = false;
+                }
+            } else {
+                current.append(c);
+                inArgument = true;
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quote.");
+        }
+        if (inArgument) {
+            args.add(current.toString());
+        }
+        return args;
+    }
+
+    private void printSummary(long elapsedNanos) {
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        out.println("Batch finished: " + commands + " commands, " + failures + " failed lines, "
+                + String.format(Locale.ROOT, "%.3f s (%.0f commands/s).", seconds, seconds > 0 ? commands / seconds : 0.0));
+        for (Map.Entry<String, Long> count : commandCounts.entrySet()) {
+            out.println("- " + count.getKey() + ": " + count.getValue());
+        }
+        out.println("Tasks scheduled: " + manager.getTasks().size());
+        logger.log(Level.INFO, "Batch finished: {0} commands, {1} failed lines.", new Object[]{commands, failures});
+    }
+}
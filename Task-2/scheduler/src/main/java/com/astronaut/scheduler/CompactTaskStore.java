@@ -0,0 +1,413 @@
+package com.astronaut.scheduler;
+
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Memory-lean store for a single day of minute-aligned tasks. Each task is a slot in
+// parallel primitive arrays (minute-of-day start/end, priority, completed flag,
+// description) and every priority owns a 1440-bit occupancy bitmap, so an overlap
+// check is a few word ANDs. Task objects are only built when a caller asks for one,
+// though a ScheduleManager's versions keep their own Task objects whatever the store.
+public class CompactTaskStore implements TaskStore {
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final int WORDS = (MINUTES_PER_DAY + 63) / 64;
+    private static final PriorityLevel[] PRIORITIES = PriorityLevel.values();
+    private static final int INITIAL_SLOTS = 16;
+
+    // Per-slot columns; a slot is free when its description is null
+    private short[] starts = new short[INITIAL_SLOTS];
+    private short[] ends = new short[INITIAL_SLOTS];
+    private byte[] priorities = new byte[INITIAL_SLOTS];
+    private long[] completed = new long[(INITIAL_SLOTS + 63) / 64];
+    private String[] descriptions = new String[INITIAL_SLOTS];
+    private short[] freeSlots = new short[INITIAL_SLOTS];
+    private int freeCount;
+    private int slotCount;
+    private int size;
+
+    // One bit per minute: minutes covered by each priority, and minutes where a task starts
+    private final long[][] occupied = new long[PRIORITIES.length][WORDS];
+    private final long[] startBits = new long[WORDS];
+    private final short[] slotByStart = new short[MINUTES_PER_DAY];
+
+    // Open-addressing description index holding slot + 1; 0 is empty, DELETED a tombstone
+    private static final int DELETED = -1;
+    private int[] table = new int[32];
+    private int tableUsed;
+
+    @Override
+    public boolean supports(Task task) {
+        return isWholeMinute(task.getStartTime()) && isWholeMinute(task.getEndTime())
+                && task.getStartTime().isBefore(task.getEndTime());
+    }
+
+    private static boolean isWholeMinute(LocalTime time) {
+        return time.getSecond() == 0 && time.getNano() == 0;
+    }
+
+    private static int minuteOf(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+
+    // First minute not fully before 'end', so [minuteOf(start), endMinute(end)) covers the query
+    private static int endMinute(LocalTime end) {
+        return isWholeMinute(end) ? minuteOf(end) : minuteOf(end) + 1;
+    }
+
+    @Override
+    public Task get(String description) {
+        int slot = findSlot(description);
+        return slot < 0 ? null : materialize(slot);
+    }
+
+    @Override
+    public boolean overlapsAny(LocalTime start, LocalTime end) {
+        int from = minuteOf(start);
+        int to = endMinute(end);
+        if (from >= to) {
+            return false;
+        }
+        for (long[] bits : occupied) {
+            if (intersects(bits, from, to)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public List<Task> findOverlapping(LocalTime start, LocalTime end) {
+        List<Task> result = new ArrayList<>();
+        int from = minuteOf(start);
+        int to = endMinute(end);
+        if (from >= to) {
+            return result;
+        }
+        // The task starting at or before 'from' may reach into the range
+        int first = previousSetBit(startBits, from);
+        if (first >= 0) {
+            int slot = slotByStart[first];
+            if (ends[slot] > from) {
+                result.add(materialize(slot));
+            }
+        }
+        for (int minute = nextSetBit(startBits, from + 1); minute >= 0 && minute < to;
+                minute = nextSetBit(startBits, minute + 1)) {
+            result.add(materialize(slotByStart[minute]));
+        }
+        return result;
+    }
+
+    @Override
+    public List<TimeSlot> findFreeSlots(LocalTime from, LocalTime to, Duration minLength, PriorityLevel priority, int limit) {
+        long[] busy = new long[WORDS];
+        for (int level = 0; level <= priority.ordinal(); level++) {
+            for (int word = 0; word < WORDS; word++) {
+                busy[word] |= occupied[level][word];
+            }
+        }
+        // Stored times are whole minutes, so a gap starts and ends on one too. A window ending
+        // at LocalTime.MAX takes in the day's last minute, as it does for IndexedTaskStore.
+        int fromMinute = endMinute(from);
+        int toMinute = to.equals(LocalTime.MAX) ? MINUTES_PER_DAY : minuteOf(to);
+        long minMinutes = (minLength.toNanos() + 59_999_999_999L) / 60_000_000_000L;
+
+        List<TimeSlot> slots = new ArrayList<>();
+        int cursor = fromMinute;
+        while (slots.size() < limit && cursor < toMinute) {
+            int gapStart = nextClearBit(busy, cursor);
+            if (gapStart >= toMinute) {
+                break;
+            }
+            int nextBusy = nextSetBit(busy, gapStart);
+            int gapEnd = nextBusy < 0 ? toMinute : Math.min(nextBusy, toMinute);
+            // The gap ending the day stops at LocalTime.MAX, a nanosecond short of a whole minute
+            boolean longEnough = gapEnd < MINUTES_PER_DAY ? gapEnd - gapStart >= minMinutes
+                    : Duration.between(timeOf(gapStart), LocalTime.MAX).compareTo(minLength) >= 0;
+            if (longEnough) {
+                slots.add(new TimeSlot(timeOf(gapStart), timeOf(gapEnd)));
+            }
+            cursor = gapEnd;
+        }
+        return slots;
+    }
+
+    // Minute 1440 is the end of the day
+    private static LocalTime timeOf(int minute) {
+        return minute == MINUTES_PER_DAY ? LocalTime.MAX : LocalTime.of(minute / 60, minute % 60);
+    }
+
+    @Override
+    public void add(Task task) {
+        if (!supports(task)) {
+            throw new IllegalArgumentException("Task times must be whole minutes with start before end: " + task.getDescription());
+        }
+        // slotByStart and the single probe in findOverlapping rely on tasks never overlapping
+        if (overlapsAny(task.getStartTime(), task.getEndTime())) {
+            throw new IllegalArgumentException("Task overlaps a stored task: " + task.getDescription());
+        }
+        int start = minuteOf(task.getStartTime());
+        int end = minuteOf(task.getEndTime());
+        int slot = allocateSlot();
+        starts[slot] = (short) start;
+        ends[slot] = (short) end;
+        priorities[slot] = (byte) task.getPriority().ordinal();
+        setCompletedBit(slot, task.isCompleted());
+        descriptions[slot] = task.getDescription();
+        setRange(occupied[priorities[slot]], start, end);
+        startBits[start >>> 6] |= 1L << start;
+        slotByStart[start] = (short) slot;
+        insertIntoTable(slot);
+        size++;
+    }
+
+    @Override
+    public Task remove(String description) {
+        int slot = findSlot(description);
+        if (slot < 0) {
+            return null;
+        }
+        Task task = materialize(slot);
+        int start = starts[slot];
+        clearRange(occupied[priorities[slot]], start, ends[slot]);
+        startBits[start >>> 6] &= ~(1L << start);
+        removeFromTable(slot);
+        descriptions[slot] = null;
+        freeSlots[freeCount++] = (short) slot;
+        size--;
+        return task;
+    }
+
+    @Override
+    public boolean markCompleted(String description) {
+        int slot = findSlot(description);
+        if (slot < 0) {
+            return false;
+        }
+        setCompletedBit(slot, true);
+        return true;
+    }
+
+    @Override
+    public List<Task> getTasks() {
+        List<Task> result = new ArrayList<>(size);
+        for (int minute = nextSetBit(startBits, 0); minute >= 0; minute = nextSetBit(startBits, minute + 1)) {
+            result.add(materialize(slotByStart[minute]));
+        }
+        return result;
+    }
+
+    @Override
+    public List<Task> getTasks(PriorityLevel priority) {
+        List<Task> result = new ArrayList<>();
+        for (int minute = nextSetBit(startBits, 0); minute >= 0; minute = nextSetBit(startBits, minute + 1)) {
+            int slot = slotByStart[minute];
+            if (priorities[slot] == priority.ordinal()) {
+                result.add(materialize(slot));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    private Task materialize(int slot) {
+        Task task = new Task(descriptions[slot], LocalTime.of(starts[slot] / 60, starts[slot] % 60),
+                LocalTime.of(ends[slot] / 60, ends[slot] % 60), PRIORITIES[priorities[slot]]);
+        task.setCompleted((completed[slot >>> 6] & (1L << slot)) != 0);
+        return task;
+    }
+
+    private void setCompletedBit(int slot, boolean value) {
+        if (value) {
+            completed[slot >>> 6] |= 1L << slot;
+        } else {
+            completed[slot >>> 6] &= ~(1L << slot);
+        }
+    }
+
+    private int allocateSlot() {
+        if (freeCount > 0) {
+            return freeSlots[--freeCount];
+        }
+        // Non-overlapping whole-minute tasks can never exceed one per minute
+        if (slotCount == starts.length) {
+            int capacity = Math.min(starts.length * 2, MINUTES_PER_DAY);
+            starts = Arrays.copyOf(starts, capacity);
+            ends = Arrays.copyOf(ends, capacity);
+            priorities = Arrays.copyOf(priorities, capacity);
+            completed = Arrays.copyOf(completed, (capacity + 63) / 64);
+            descriptions = Arrays.copyOf(descriptions, capacity);
+            freeSlots = Arrays.copyOf(freeSlots, capacity);
+        }
+        return slotCount++;
+    }
+
+    // Description index
+
+    // Matches String.equalsIgnoreCase without allocating a lower-cased copy
+    private static int hash(String description) {
+        int h = 0;
+        for (int i = 0; i < description.length(); i++) {
+            h = 31 * h + Character.toLowerCase(Character.toUpperCase(description.charAt(i)));
+        }
+        return h ^ (h >>> 16);
+    }
+
+    private int findSlot(String description) {
+        int mask = table.length - 1;
+        for (int i = hash(description) & mask; table[i] != 0; i = (i + 1) & mask) {
+            int entry = table[i];
+            if (entry != DELETED && descriptions[entry - 1].equalsIgnoreCase(description)) {
+                return entry - 1;
+            }
+        }
+        return -1;
+    }
+
+    private void insertIntoTable(int slot) {
+        if ((tableUsed + 1) * 2 > table.length) {
+            rehash(size + 1);
+        }
+        int mask = table.length - 1;
+        int i = hash(descriptions[slot]) & mask;
+        while (table[i] != 0) {
+            i = (i + 1) & mask;
+        }
+        table[i] = slot + 1;
+        tableUsed++;
+    }
+
+    private void removeFromTable(int slot) {
+        int mask = table.length - 1;
+        for (int i = hash(descriptions[slot]) & mask; table[i] != 0; i = (i + 1) & mask) {
+            if (table[i] == slot + 1) {
+                table[i] = DELETED;
+                return;
+            }
+        }
+    }
+
+    // Drops tombstones and keeps the table at most half full
+    private void rehash(int entries) {
+        int capacity = 32;
+        while (capacity < entries * 4) {
+            capacity <<= 1;
+        }
+        int[] old = table;
+        table = new int[capacity];
+        tableUsed = 0;
+        int mask = capacity - 1;
+        for (int entry : old) {
+            if (entry > 0) {
+                int i = hash(descriptions[entry - 1]) & mask;
+                while (table[i] != 0) {
+                    i = (i + 1) & mask;
+                }
+                table[i] = entry;
+                tableUsed++;
+            }
+        }
+    }
+
+    // Bitmap helpers over [from, to)
+
+    private static boolean intersects(long[] bits, int from, int to) {
+        int firstWord = from >>> 6;
+        int lastWord = (to - 1) >>> 6;
+        long firstMask = -1L << from;
+        long lastMask = -1L >>> -to;
+        if (firstWord == lastWord) {
+            return (bits[firstWord] & firstMask & lastMask) != 0;
+        }
+        if ((bits[firstWord] & firstMask) != 0) {
+            return true;
+        }
+        for (int word = firstWord + 1; word < lastWord; word++) {
+            if (bits[word] != 0) {
+                return true;
+            }
+        }
+        return (bits[lastWord] & lastMask) != 0;
+    }
+
+    private static void setRange(long[] bits, int from, int to) {
+        int firstWord = from >>> 6;
+        int lastWord = (to - 1) >>> 6;
+        long firstMask = -1L << from;
+        long lastMask = -1L >>> -to;
+        if (firstWord == lastWord) {
+            bits[firstWord] |= firstMask & lastMask;
+            return;
+        }
+        bits[firstWord] |= firstMask;
+        for (int word = firstWord + 1; word < lastWord; word++) {
+            bits[word] = -1L;
+        }
+        bits[lastWord] |= lastMask;
+    }
+
+    private static void clearRange(long[] bits, int from, int to) {
+        int firstWord = from >>> 6;
+        int lastWord = (to - 1) >>> 6;
+        long firstMask = -1L << from;
+        long lastMask = -1L >>> -to;
+        if (firstWord == lastWord) {
+            bits[firstWord] &= ~(firstMask & lastMask);
+            return;
+        }
+        bits[firstWord] &= ~firstMask;
+        for (int word = firstWord + 1; word < lastWord; word++) {
+            bits[word] = 0;
+        }
+        bits[lastWord] &= ~lastMask;
+    }
+
+    private static int nextSetBit(long[] bits, int from) {
+        if (from >= MINUTES_PER_DAY) {
+            return -1;
+        }
+        int word = from >>> 6;
+        long current = bits[word] & (-1L << from);
+        while (current == 0) {
+            if (++word == bits.length) {
+                return -1;
+            }
+            current = bits[word];
+        }
+        return word * 64 + Long.numberOfTrailingZeros(current);
+    }
+
+    private static int nextClearBit(long[] bits, int from) {
+        int word = from >>> 6;
+        long current = ~bits[word] & (-1L << from);
+        while (current == 0) {
+            if (++word == bits.length) {
+                return MINUTES_PER_DAY;
+            }
+            current = ~bits[word];
+        }
+        return Math.min(word * 64 + Long.numberOfTrailingZeros(current), MINUTES_PER_DAY);
+    }
+
+    private static int previousSetBit(long[] bits, int from) {
+        if (from < 0) {
+            return -1;
+        }
+        int word = Math.min(from, MINUTES_PER_DAY - 1) >>> 6;
+        long current = bits[word] & (-1L >>> (63 - (Math.min(from, MINUTES_PER_DAY - 1) & 63)));
+        while (current == 0) {
+            if (word-- == 0) {
+                return -1;
+            }
+            current = bits[word];
+        }
+        return word * 64 + 63 - Long.numberOfLeadingZeros(current);
+    }
+}
@@ -0,0 +1,32 @@
+package com.astronaut.scheduler;
+
+import java.util.List;
+import java.util.function.BiPredicate;
+
+// Decides what happens when a new task outranks every task it conflicts with. Conflicts with
+// a task of equal or higher priority are always rejected and never reach the policy.
+// Called without the schedule's lock held, so a policy may take its time, e.g. to ask the
+// user. An override is applied only if the conflicting tasks are still the same by then.
+@FunctionalInterface
+public interface ConflictPolicy {
+    enum Resolution {
+        // Remove the conflicting tasks and add the new one
+        OVERRIDE,
+        // Leave the schedule unchanged
+        REJECT,
+        // Leave the schedule unchanged; the policy keeps the task for someone to review later
+        QUEUE
+    }
+
+    Resolution resolve(Task newTask, List<Task> conflictingTasks);
+
+    ConflictPolicy ALWAYS_OVERRIDE = (newTask, conflictingTasks) -> Resolution.OVERRIDE;
+
+    ConflictPolicy REJECT = (newTask, conflictingTasks) -> Resolution.REJECT;
+
+    // Overrides when the callback returns true
+    static ConflictPolicy ask(BiPredicate<Task, List<Task>> callback) {
+        return (newTask, conflictingTasks) ->
+                callback.test(newTask, conflictingTasks) ? Resolution.OVERRIDE : Resolution.REJECT;
+    }
+}
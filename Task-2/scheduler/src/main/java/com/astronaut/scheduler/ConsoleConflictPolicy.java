@@ -0,0 +1,28 @@
+package com.astronaut.scheduler;
+
+import java.util.List;
+import java.util.Scanner;
+
+// Asks the user at the console, reading from the application's own Scanner so that
+// System.in stays open. Only for interactive runs: it blocks until the user answers.
+public class ConsoleConflictPolicy implements ConflictPolicy {
+    private final Scanner scanner;
+
+    public ConsoleConflictPolicy(Scanner scanner) {
+        this.scanner = scanner;
+    }
+
+    @Override
+    public Resolution resolve(Task newTask, List<Task> conflictingTasks) {
+        System.out.println("The new task conflicts with existing tasks:");
+        for (Task t : conflictingTasks) {
+            System.out.println("- " + t);
+        }
+        System.out.print("Do you want to override these tasks? (yes/no): ");
+        if (!scanner.hasNextLine()) {
+            return Resolution.REJECT;
+        }
+        String response = scanner.nextLine().trim();
+        return response.equalsIgnoreCase("yes") ? Resolution.OVERRIDE : Resolution.REJECT;
+    }
+}
@@ -0,0 +1,138 @@
+package com.astronaut.scheduler;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+// Schedules for a whole crew over many days, split into one ScheduleManager per astronaut
+// and day. Each shard has its own lock and task index, so work on one shard never waits
+// on another; finding a shard is a concurrent map lookup. Crew-wide operations fan out
+// over the shards with parallel streams and return results ordered by date, then astronaut.
+public class CrewSchedule {
+    private final ConcurrentMap<ScheduleKey, ScheduleManager> shards = new ConcurrentHashMap<>();
+    private final Supplier<TaskStore> storeFactory;
+    private final List<Observer> observers = new CopyOnWriteArrayList<>();
+    // Shared by all shards, so it describes the crew schedule as a whole
+    private final ScheduleStats stats = new ScheduleStats();
+    private static final Logger logger = LoggerManager.getLogger();
+
+    // Shards use the store selected with -Dscheduler.storage
+    public CrewSchedule() {
+        this(ScheduleManager::createConfiguredStore);
+    }
+
+    public CrewSchedule(Supplier<TaskStore> storeFactory) {
+        this.storeFactory = storeFactory;
+    }
+
+    public ScheduleStats getStats() {
+        return stats;
+    }
+
+    // Registered on every existing shard and on shards created later
+    public void addObserver(Observer observer) {
+        observers.add(observer);
+        for (ScheduleManager shard : shards.values()) {
+            shard.addObserver(observer);
+        }
+    }
+
+    // The schedule of one astronaut on one day, created empty on first use
+    public ScheduleManager schedule(String astronaut, LocalDate date) {
+        return schedule(new ScheduleKey(astronaut, date));
+    }
+
+    public ScheduleManager schedule(ScheduleKey key) {
+        ScheduleManager shard = shards.get(key);
+        if (shard != null) {
+            return shard;
+        }
+        return shards.computeIfAbsent(key, k -> {
+            ScheduleManager created = new ScheduleManager(storeFactory.get(), stats);
+            for (Observer observer : observers) {
+                created.addObserver(observer);
+            }
+            return created;
+        });
+    }
+
+    // Shards between the two dates, inclusive, ordered by date, then astronaut
+    public List<ScheduleKey> getScheduleKeys(LocalDate from, LocalDate to) {
+        List<ScheduleKey> keys = shardsBetween(from, to);
+        Collections.sort(keys);
+        return keys;
+    }
+
+    // E.g. every HIGH task of the crew this week; shards without such tasks are left out
+    public Map<ScheduleKey, List<Task>> getTasksByPriority(PriorityLevel priority, LocalDate from, LocalDate to) {
+        return shardsBetween(from, to).parallelStream()
+                .map(key -> Map.entry(key, shards.get(key).getTasksByPriority(priority)))
+                .filter(e -> !e.getValue().isEmpty())
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (a, b) -> a, TreeMap::new));
+    }
+
+    // Checks proposed tasks against the schedules they would join, without changing anything.
+    // Returns, per shard, the proposed tasks that would be refused if added in order: those
+    // that conflict with an already scheduled task or with an earlier proposal for that shard.
+    public Map<ScheduleKey, List<Task>> findConflicts(Map<ScheduleKey, List<Task>> proposed) {
+        return proposed.entrySet().parallelStream()
+                .map(e -> Map.entry(e.getKey(), findConflicts(shards.get(e.getKey()), e.getValue())))
+                .filter(e -> !e.getValue().isEmpty())
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (a, b) -> a, TreeMap::new));
+    }
+
+    // 'shard' is null for a schedule that does not exist yet. Proposals without a conflict go
+    // into an index of their own, so each later one is checked against them in O(log n).
+    static List<Task> findConflicts(ScheduleManager shard, List<Task> proposed) {
+        TaskIntervalIndex accepted = new TaskIntervalIndex();
+        List<Task> conflicting = new ArrayList<>();
+        for (Task task : proposed) {
+            if (accepted.anyOverlapping(task.getStartTime(), task.getEndTime())
+                    || shard != null && !shard.findConflicts(task).isEmpty()) {
+                conflicting.add(task);
+            } else {
+                accepted.add(task);
+            }
+        }
+        return conflicting;
+    }
+
+    // Moves the task with this description to 'newStart' in every crew member's schedule on
+    // 'date' that has it, e.g. a crew meeting. Each shard is moved independently; returns the
+    // shards where the move was refused because of a conflict.
+    public List<ScheduleKey> rescheduleTask(String description, LocalDate date, LocalTime newStart) {
+        List<ScheduleKey> refused = shardsBetween(date, date).parallelStream()
+                .filter(key -> shards.get(key).getTask(description) != null)
+                .filter(key -> shards.get(key).rescheduleTask(description, newStart) == null)
+                .sorted()
+                .collect(Collectors.toList());
+        logger.log(Level.INFO, "Crew task '{0}' on {1} rescheduled to {2}, refused in {3} schedules.",
+                new Object[]{description, date, newStart, refused.size()});
+        return refused;
+    }
+
+    private List<ScheduleKey> shardsBetween(LocalDate from, LocalDate to) {
+        List<ScheduleKey> keys = new ArrayList<>();
+        for (ScheduleKey key : shards.keySet()) {
+            if (isWithin(key, from, to)) {
+                keys.add(key);
+            }
+        }
+        return keys;
+    }
+
+    private static boolean isWithin(ScheduleKey key, LocalDate from, LocalDate to) {
+        return !key.getDate().isBefore(from) && !key.getDate().isAfter(to);
+    }
+}
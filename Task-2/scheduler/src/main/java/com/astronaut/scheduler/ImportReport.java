@@ -0,0 +1,46 @@
+package com.astronaut.scheduler;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+public class ImportReport {
+    private int rowsRead;
+    private int tasksAdded;
+    private final List<RowError> errors = new ArrayList<>();
+
+    public int getRowsRead() { return rowsRead; }
+    public int getTasksAdded() { return tasksAdded; }
+    public List<RowError> getErrors() {
+        errors.sort(Comparator.comparingLong(RowError::getLineNumber));
+        return Collections.unmodifiableList(errors);
+    }
+
+    void rowRead() { rowsRead++; }
+    void tasksAdded(int count) { tasksAdded += count; }
+    void addError(long lineNumber, String message) { errors.add(new RowError(lineNumber, message)); }
+
+    @Override
+    public String toString() {
+        return String.format("%d rows read, %d tasks added, %d rows rejected", rowsRead, tasksAdded, errors.size());
+    }
+
+    public static class RowError {
+        private final long lineNumber;
+        private final String message;
+
+        public RowError(long lineNumber, String message) {
+            this.lineNumber = lineNumber;
+            this.message = message;
+        }
+
+        public long getLineNumber() { return lineNumber; }
+        public String getMessage() { return message; }
+
+        @Override
+        public String toString() {
+            return "Line " + lineNumber + ": " + message;
+        }
+    }
+}
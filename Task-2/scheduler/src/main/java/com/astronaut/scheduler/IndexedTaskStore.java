@@ -0,0 +1,130 @@
+package com.astronaut.scheduler;
+
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Default store: Task objects indexed by description and by start time, with one
+// start-time index per priority so views never need sorting.
+public class IndexedTaskStore implements TaskStore {
+    // Case-insensitive description -> task
+    private final Map<String, Task> tasks = new HashMap<>();
+    private final TaskIntervalIndex taskIndex = new TaskIntervalIndex();
+    private final Map<PriorityLevel, TaskIntervalIndex> tasksByPriority = new EnumMap<>(PriorityLevel.class);
+
+    public IndexedTaskStore() {
+        for (PriorityLevel priority : PriorityLevel.values()) {
+            tasksByPriority.put(priority, new TaskIntervalIndex());
+        }
+    }
+
+    private static String descriptionKey(String description) {
+        return description.toLowerCase(Locale.ROOT);
+    }
+
+    @Override
+    public Task get(String description) {
+        return tasks.get(descriptionKey(description));
+    }
+
+    @Override
+    public boolean overlapsAny(LocalTime start, LocalTime end) {
+        return taskIndex.anyOverlapping(start, end);
+    }
+
+    @Override
+    public List<Task> findOverlapping(LocalTime start, LocalTime end) {
+        return taskIndex.findOverlapping(start, end);
+    }
+
+    @Override
+    public List<TimeSlot> findFreeSlots(LocalTime from, LocalTime to, Duration minLength, PriorityLevel priority, int limit) {
+        // Merge the per-priority indexes of the blocking priorities; together they still never overlap
+        List<Iterator<Task>> sources = new ArrayList<>();
+        for (PriorityLevel level : PriorityLevel.values()) {
+            if (level.ordinal() <= priority.ordinal()) {
+                sources.add(tasksByPriority.get(level).iteratorFrom(from));
+            }
+        }
+        Task[] heads = new Task[sources.size()];
+        for (int i = 0; i < heads.length; i++) {
+            heads[i] = sources.get(i).hasNext() ? sources.get(i).next() : null;
+        }
+
+        List<TimeSlot> slots = new ArrayList<>();
+        LocalTime cursor = from;
+        while (slots.size() < limit && cursor.isBefore(to)) {
+            int next = -1;
+            for (int i = 0; i < heads.length; i++) {
+                if (heads[i] != null && (next < 0 || heads[i].getStartTime().isBefore(heads[next].getStartTime()))) {
+                    next = i;
+                }
+            }
+            Task busy = next < 0 ? null : heads[next];
+            LocalTime gapEnd = busy == null || busy.getStartTime().isAfter(to) ? to : busy.getStartTime();
+            if (gapEnd.isAfter(cursor) && Duration.between(cursor, gapEnd).compareTo(minLength) >= 0) {
+                slots.add(new TimeSlot(cursor, gapEnd));
+            }
+            if (busy == null || !busy.getStartTime().isBefore(to)) {
+                break;
+            }
+            if (busy.getEndTime().isAfter(cursor)) {
+                cursor = busy.getEndTime();
+            }
+            heads[next] = sources.get(next).hasNext() ? sources.get(next).next() : null;
+        }
+        return slots;
+    }
+
+    @Override
+    public void add(Task task) {
+        tasks.put(descriptionKey(task.getDescription()), task);
+        taskIndex.add(task);
+        tasksByPriority.get(task.getPriority()).add(task);
+    }
+
+    @Override
+    public Task remove(String description) {
+        Task task = tasks.remove(descriptionKey(description));
+        if (task != null) {
+            taskIndex.remove(task);
+            tasksByPriority.get(task.getPriority()).remove(task);
+        }
+        return task;
+    }
+
+    @Override
+    public boolean markCompleted(String description) {
+        Task task = get(description);
+        if (task == null) {
+            return false;
+        }
+        // Replaced, not changed in place: schedule versions may still hold the old object
+        Task completed = new Task(task.getDescription(), task.getStartTime(), task.getEndTime(), task.getPriority());
+        completed.setCompleted(true);
+        remove(description);
+        add(completed);
+        return true;
+    }
+
+    @Override
+    public List<Task> getTasks() {
+        return new ArrayList<>(taskIndex.getTasks());
+    }
+
+    @Override
+    public List<Task> getTasks(PriorityLevel priority) {
+        return new ArrayList<>(tasksByPriority.get(priority).getTasks());
+    }
+
+    @Override
+    public int size() {
+        return tasks.size();
+    }
+}
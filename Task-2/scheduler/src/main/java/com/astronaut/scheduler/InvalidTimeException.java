@@ -1,3 +1,5 @@
+package com.astronaut.scheduler;
+
 public class InvalidTimeException extends Exception {
     public InvalidTimeException(String message) {
         super(message);
@@ -0,0 +1,154 @@
+package com.astronaut.scheduler;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+// Load test for ScheduleServer: every client opens its own connection and sends its requests
+// with up to 'pipeline' of them outstanding. Each client repeats add, view range, mark and
+// remove on a one-second task at a random time, so clients also run into each other's tasks.
+// Latency is measured from writing a request to reading the end of its response.
+public class LoadGenerator {
+    private final int port;
+    private final int clients;
+    private final int requestsPerClient;
+    private final int pipeline;
+    private final LatencyHistogram latencies = new LatencyHistogram();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder failedClients = new LongAdder();
+    private volatile Throwable firstFailure;
+
+    public LoadGenerator(int port, int clients, int requestsPerClient, int pipeline) {
+        if (clients <= 0 || requestsPerClient <= 0 || pipeline <= 0) {
+            throw new IllegalArgumentException("Clients, requests and pipeline depth must be positive.");
+        }
+        this.port = port;
+        this.clients = clients;
+        this.requestsPerClient = requestsPerClient;
+        this.pipeline = pipeline;
+    }
+
+    // Runs every client to completion and prints the report
+    public void run() throws InterruptedException {
+        ExecutorService executor = ThreadPools.newPerTaskExecutor("load-client");
+        List<Future<?>> results = new ArrayList<>(clients);
+        long startNanos = System.nanoTime();
+        for (int c = 0; c < clients; c++) {
+            int client = c;
+            results.add(executor.submit(() -> runClient(client)));
+        }
+        for (Future<?> result : results) {
+            try {
+                result.get();
+            } catch (ExecutionException e) {
+                failedClients.increment();
+                if (firstFailure == null) {
+                    firstFailure = e.getCause();
+                }
+            }
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+        executor.shutdown();
+        printReport(elapsedNanos);
+    }
+
+    private Void runClient(int client) throws IOException {
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port);
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             Writer out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8))) {
+            socket.setTcpNoDelay(true);
+            Deque<Long> sentAt = new ArrayDeque<>(pipeline);
+            int sent = 0;
+            int received = 0;
+            int second = 0;
+            while (received < requestsPerClient) {
+                // Fill the window, then flush once
+                while (sent < requestsPerClient && sent - received < pipeline) {
+                    if (sent % 4 == 0) {
+                        second = ThreadLocalRandom.current().nextInt(86_398);
+                    }
+                    out.write(request(client, sent, second));
+                    out.write('\n');
+                    sentAt.add(System.nanoTime());
+                    sent++;
+                }
+                out.flush();
+                readResponse(in);
+                latencies.record(System.nanoTime() - sentAt.poll());
+                received++;
+            }
+            out.write("exit\n");
+            out.flush();
+        }
+        return null;
+    }
+
+    // Cycles add, view range, mark, remove on the task of this group of four requests
+    private static String request(int client, int sequence, int second) {
+        String description = "\"load-" + client + "-" + sequence / 4 + "\"";
+        return switch (sequence % 4) {
+            case 0 -> "add " + description + " " + time(second) + " " + time(second + 1) + " low";
+            case 1 -> "view range " + time(second) + " " + time(second + 1);
+            case 2 -> "mark " + description;
+            default -> "remove " + description;
+        };
+    }
+
+    private static String time(int secondOfDay) {
+        return String.format(Locale.ROOT, "%02d:%02d:%02d", secondOfDay / 3600, secondOfDay / 60 % 60, secondOfDay % 60);
+    }
+
+    // Reads the status line and the number of output lines it announces
+    private void readResponse(BufferedReader in) throws IOException {
+        String status = in.readLine();
+        if (status == null) {
+            throw new IOException("Connection closed by the server.");
+        }
+        if (status.startsWith("ERROR ")) {
+            errors.increment();
+        } else if (!status.startsWith("OK ")) {
+            throw new IOException("Unexpected response: " + status);
+        }
+        int countStart = status.indexOf(' ') + 1;
+        int countEnd = status.indexOf(' ', countStart);
+        int lines;
+        try {
+            lines = Integer.parseInt(status.substring(countStart, countEnd < 0 ? status.length() : countEnd));
+        } catch (NumberFormatException e) {
+            throw new IOException("Unexpected response: " + status);
+        }
+        for (int i = 0; i < lines; i++) {
+            if (in.readLine() == null) {
+                throw new IOException("Connection closed by the server.");
+            }
+        }
+    }
+
+    private void printReport(long elapsedNanos) {
+        long count = latencies.getCount();
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        System.out.printf(Locale.ROOT, "%d requests from %d clients (pipeline %d) in %.3f s: %.0f requests/s%n",
+                count, clients, pipeline, seconds, count / seconds);
+        System.out.printf(Locale.ROOT, "Latency us: p50 %.1f, p99 %.1f, p999 %.1f, max %.1f%n",
+                latencies.getValueAtPercentile(50) / 1000.0, latencies.getValueAtPercentile(99) / 1000.0,
+                latencies.getValueAtPercentile(99.9) / 1000.0, latencies.getMaxNanos() / 1000.0);
+        System.out.println("Error responses: " + errors.sum() + ", failed clients: " + failedClients.sum()
+                + (firstFailure == null ? "" : " (first failure: " + firstFailure + ")"));
+    }
+}
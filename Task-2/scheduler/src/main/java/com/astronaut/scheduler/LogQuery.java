@@ -0,0 +1,120 @@
+package com.astronaut.scheduler;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Locale;
+import java.util.logging.Level;
+
+// Filter for the on-disk log: minimum level, earliest time, task description (a case-insensitive
+// substring) and a page of PAGE_SIZE lines, oldest first. Null filters match everything.
+public class LogQuery {
+    public static final int PAGE_SIZE = 20;
+
+    private final Level level;
+    private final LocalDateTime since;
+    private final String task;
+    private final int page;
+
+    public LogQuery(Level level, LocalDateTime since, String task, int page) {
+        if (page < 1) {
+            throw new IllegalArgumentException("Page numbers start at 1.");
+        }
+        this.level = level;
+        this.since = since;
+        this.task = task;
+        this.page = page;
+    }
+
+    // Options of "view logs": --level WARNING --since 10:00 --task EVA --page 2.
+    // --since takes HH:MM (today) or yyyy-MM-ddTHH:MM.
+    public static LogQuery parse(List<String> options) {
+        Level level = null;
+        LocalDateTime since = null;
+        String task = null;
+        int page = 1;
+        for (int i = 0; i < options.size(); i += 2) {
+            String option = options.get(i).toLowerCase(Locale.ROOT);
+            if (i + 1 >= options.size()) {
+                throw new IllegalArgumentException("Missing value for " + option + ".");
+            }
+            String value = options.get(i + 1);
+            switch (option) {
+                case "--level" -> {
+                    try {
+                        level = Level.parse(value.toUpperCase(Locale.ROOT));
+                    } catch (IllegalArgumentException e) {
+                        throw new IllegalArgumentException("Invalid log level '" + value + "'.");
+                    }
+                }
+                case "--since" -> since = parseSince(value);
+                case "--task" -> task = value;
+                case "--page" -> {
+                    try {
+                        page = Integer.parseInt(value);
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException("Invalid page '" + value + "'.");
+                    }
+                }
+                default -> throw new IllegalArgumentException("Unknown option " + option + ". Use --level, --since, --task or --page.");
+            }
+        }
+        return new LogQuery(level, since, task, page);
+    }
+
+    private static LocalDateTime parseSince(String value) {
+        try {
+            if (value.length() <= 5) {
+                return LocalDate.now().atTime(LocalTime.parse(value));
+            }
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid time '" + value + "'. Use HH:MM or yyyy-MM-ddTHH:MM.");
+        }
+    }
+
+    int getMinLevel() {
+        return level == null ? Integer.MIN_VALUE : level.intValue();
+    }
+
+    long getSinceMillis() {
+        return since == null ? Long.MIN_VALUE : since.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    String getTask() {
+        return task;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    // One page of matching lines
+    public static class Result {
+        private final List<String> lines;
+        private final int page;
+        private final boolean hasMore;
+
+        Result(List<String> lines, int page, boolean hasMore) {
+            this.lines = List.copyOf(lines);
+            this.page = page;
+            this.hasMore = hasMore;
+        }
+
+        public List<String> getLines() {
+            return lines;
+        }
+
+        public int getPage() {
+            return page;
+        }
+
+        // True if a later page has more matches
+        public boolean hasMore() {
+            return hasMore;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.astronaut.scheduler;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Locale;
+import java.util.logging.*;
+
+// Log settings can be overridden with system properties:
+//   scheduler.log.dir            directory of the rolling log segments (default scheduler-logs)
+//   scheduler.log.segmentSize    bytes per log segment before rolling over (default 8 MiB)
+//   scheduler.log.maxSegments    segments kept; older ones are deleted (default 100)
+//   scheduler.log.queueCapacity  records buffered for the file writer (default 8192)
+//   scheduler.log.overflow       DROP, BLOCK or SAMPLE when that buffer is full (default BLOCK)
+//   scheduler.log.sampleRate     SAMPLE mode keeps 1 in N low-level records (default 10)
+//   scheduler.log.sessionSize    records kept for 'view logs' (default 1000)
+public class LoggerManager {
+    private static final Logger logger = Logger.getLogger("AstronautSchedulerLogger");
+    private static final Formatter formatter = new LogLineFormatter();
+    private static final SessionLogHandler sessionLog =
+            new SessionLogHandler(Integer.getInteger("scheduler.log.sessionSize", 1000));
+    private static AsyncLogHandler fileHandler;
+    private static RollingLogStore logStore;
+
+    static {
+        logger.setLevel(Level.ALL);
+        logger.setUseParentHandlers(false);
+        sessionLog.setFormatter(formatter);
+        logger.addHandler(sessionLog);
+
+        try {
+            AsyncLogHandler.OverflowPolicy overflowPolicy = AsyncLogHandler.OverflowPolicy.valueOf(
+                    System.getProperty("scheduler.log.overflow", "BLOCK").toUpperCase(Locale.ROOT));
+            logStore = new RollingLogStore(
+                    Path.of(System.getProperty("scheduler.log.dir", "scheduler-logs")),
+                    Long.getLong("scheduler.log.segmentSize", 8L * 1024 * 1024),
+                    Integer.getInteger("scheduler.log.maxSegments", 100));
+            fileHandler = new AsyncLogHandler(
+                    logStore,
+                    Integer.getInteger("scheduler.log.queueCapacity", 8192),
+                    overflowPolicy,
+                    Integer.getInteger("scheduler.log.sampleRate", 10));
+            fileHandler.setFormatter(formatter);
+            logger.addHandler(fileHandler);
+            // Let the writer drain what is still queued when the JVM exits
+            Runtime.getRuntime().addShutdownHook(new Thread(fileHandler::close, "scheduler-log-shutdown"));
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Failed to initialize logger handler.");
+        }
+    }
+
+    public static Logger getLogger() {
+        return logger;
+    }
+
+    public static List<String> getInMemoryLogs() {
+        return sessionLog.getFormattedRecords();
+    }
+
+    // Searches the log files of this and earlier sessions; records still queued are not seen yet
+    public static LogQuery.Result queryLogs(LogQuery query) throws IOException {
+        if (logStore == null) {
+            throw new IOException("File logging is not available.");
+        }
+        return logStore.query(query);
+    }
+
+    public static long getDroppedRecordCount() {
+        return fileHandler == null ? 0 : fileHandler.getDroppedCount();
+    }
+
+    private static class LogLineFormatter extends Formatter {
+        private static final DateTimeFormatter TIMESTAMP =
+                DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss").withZone(ZoneId.systemDefault());
+
+        // [2024-03-29 10:35:00] [INFO   ] message
+        @Override
+        public String format(LogRecord lr) {
+            String level = lr.getLevel().getLocalizedName();
+            StringBuilder line = new StringBuilder(64);
+            line.append('[');
+            TIMESTAMP.formatTo(Instant.ofEpochMilli(lr.getMillis()), line);
+            line.append("] [").append(level);
+            for (int i = level.length(); i < 7; i++) {
+                line.append(' ');
+            }
+            line.append("] ");
+            appendMessage(line, lr.getMessage(), lr.getParameters());
+            line.append(' ').append(System.lineSeparator());
+            return line.toString();
+        }
+
+        // Substitutes {0}, {1}, ... literally. MessageFormat would treat the quotes in
+        // messages such as "Task '{0}' added" as escapes and leave the placeholder in.
+        private static void appendMessage(StringBuilder line, String message, Object[] parameters) {
+            if (message == null) {
+                return;
+            }
+            if (parameters == null || parameters.length == 0) {
+                line.append(message);
+                return;
+            }
+            int i = 0;
+            while (i < message.length()) {
+                char c = message.charAt(i);
+                int close = c == '{' ? message.indexOf('}', i) : -1;
+                if (close > i + 1 && close - i <= 3) {
+                    int index = parseIndex(message, i + 1, close);
+                    if (index >= 0 && index < parameters.length) {
+                        line.append(parameters[index]);
+                        i = close + 1;
+                        continue;
+                    }
+                }
+                line.append(c);
+                i++;
+            }
+        }
+
+        private static int parseIndex(String message, int from, int to) {
+            int index = 0;
+            for (int i = from; i < to; i++) {
+                char c = message.charAt(i);
+                if (c < '0' || c > '9') {
+                    return -1;
+                }
+                index = index * 10 + (c - '0');
+            }
+            return index;
+        }
+    }
+}
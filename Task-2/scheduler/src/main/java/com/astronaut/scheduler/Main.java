@@ -0,0 +1,475 @@
+package com.astronaut.scheduler;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Scanner;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.management.JMException;
+
+public class Main {
+    private static final Logger logger = LoggerManager.getLogger();
+    private static final ScheduleManager manager = ScheduleManager.getInstance();
+    private static final int MAX_IMPORT_ERRORS_SHOWN = 20;
+    private static final int BATCH_BUFFER_SIZE = 1 << 16;
+    // Set when conflicts are queued for review instead of decided at once
+    private static ReviewQueueConflictPolicy reviewQueue;
+
+    // With "--batch [script]" commands are read from the script, or from stdin, without prompts.
+    // "--server [port]" serves the schedule to local clients; "--load-test" measures a server.
+    public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("--load-test")) {
+            runLoadTest(args);
+            return;
+        }
+        manager.addObserver(new UserNotification(), Boolean.getBoolean("scheduler.observers.async"));
+        enablePersistence();
+        registerStatsMBeans();
+        try {
+            if (args.length > 0 && args[0].equals("--batch")) {
+                runBatch(args.length > 1 ? args[1] : null);
+            } else if (args.length > 0 && args[0].equals("--server")) {
+                runServer(args.length > 1 ? args[1] : null);
+            } else {
+                runInteractive();
+            }
+        } finally {
+            try {
+                manager.closePersistence();
+            } catch (IOException e) {
+                logger.log(Level.SEVERE, "Failed to close the schedule journal: {0}", e.getMessage());
+            }
+        }
+    }
+
+    private static void runInteractive() {
+        startReminders();
+        try (Scanner scanner = new Scanner(System.in)) {
+            configureConflictPolicy(scanner);
+            String command;
+            
+            System.out.println("Astronaut Daily Schedule Organizer");
+            System.out.println("Type 'help' to see the list of commands.");
+            
+            while (true) {
+                System.out.print("> ");
+                command = scanner.nextLine().trim();
+                
+                if (command.equalsIgnoreCase("exit")) {
+                    System.out.println("Exiting application.");
+                    break;
+                }
+                
+                processCommand(command, scanner);
+            }
+        }
+    }
+
+    // Reads and writes through large buffers; output is flushed when the script ends
+    private static void runBatch(String scriptName) {
+        configureConflictPolicy(null);
+        PrintStream console = System.out;
+        PrintStream output = new PrintStream(new BufferedOutputStream(new FileOutputStream(FileDescriptor.out), BATCH_BUFFER_SIZE), false);
+        System.setOut(output);
+        try (BufferedReader script = scriptName == null
+                ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8), BATCH_BUFFER_SIZE)
+                : Files.newBufferedReader(Path.of(scriptName), StandardCharsets.UTF_8)) {
+            new BatchRunner(manager, output).run(script);
+        } catch (IOException | InvalidPathException e) {
+            System.out.println("Could not read script: " + e.getMessage());
+            logger.log(Level.SEVERE, "Failed to read batch script '{0}': {1}", new Object[]{scriptName, e.getMessage()});
+        } finally {
+            output.flush();
+            System.setOut(console);
+        }
+    }
+
+    // Serves until 'exit' is typed, or until the process is stopped if there is no console input
+    private static void runServer(String portArgument) {
+        configureConflictPolicy(null);
+        int port;
+        try {
+            port = portArgument == null ? ScheduleServer.DEFAULT_PORT : Integer.parseInt(portArgument);
+        } catch (NumberFormatException e) {
+            System.out.println("Invalid port: " + portArgument);
+            return;
+        }
+        try (ScheduleServer server = new ScheduleServer(manager, port)) {
+            server.start();
+            System.out.println("Serving the schedule on localhost:" + server.getPort() + ". Type 'exit' to stop.");
+            Scanner console = new Scanner(System.in);
+            while (console.hasNextLine()) {
+                if (console.nextLine().trim().equalsIgnoreCase("exit")) {
+                    return;
+                }
+            }
+            server.awaitClose();
+        } catch (IOException e) {
+            System.out.println("Could not start the server: " + e.getMessage());
+            logger.log(Level.SEVERE, "Failed to start the schedule server on port {0}: {1}", new Object[]{port, e.getMessage()});
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // --load-test [clients] [requests per client] [pipeline depth] [port]. Without a port an
+    // in-memory server is started in this process, so nothing is added to the saved schedule.
+    private static void runLoadTest(String[] args) {
+        try {
+            int clients = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+            int requests = args.length > 2 ? Integer.parseInt(args[2]) : 1000;
+            int pipeline = args.length > 3 ? Integer.parseInt(args[3]) : 8;
+            if (args.length > 4) {
+                new LoadGenerator(Integer.parseInt(args[4]), clients, requests, pipeline).run();
+                return;
+            }
+            LoggerManager.getLogger().setLevel(Level.WARNING);
+            configureConflictPolicy(null);
+            try (ScheduleServer server = new ScheduleServer(manager, 0)) {
+                server.start();
+                new LoadGenerator(server.getPort(), clients, requests, pipeline).run();
+            }
+        } catch (NumberFormatException e) {
+            System.out.println("Usage: --load-test [clients] [requests per client] [pipeline depth] [port]");
+        } catch (IllegalArgumentException | IOException e) {
+            System.out.println("Load test failed: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Saved schedules live in ./scheduler-data unless -Dscheduler.data.dir says otherwise;
+    // -Dscheduler.persistence=false keeps everything in memory.
+    private static void enablePersistence() {
+        if (!Boolean.parseBoolean(System.getProperty("scheduler.persistence", "true"))) {
+            return;
+        }
+        String directory = System.getProperty("scheduler.data.dir", "scheduler-data");
+        try {
+            manager.enablePersistence(Path.of(directory));
+        } catch (IOException | UncheckedIOException | InvalidPathException e) {
+            System.out.println("Could not load the saved schedule, changes will not be saved: " + e.getMessage());
+            logger.log(Level.SEVERE, "Failed to enable persistence in '{0}': {1}", new Object[]{directory, e.getMessage()});
+        }
+    }
+
+    // Interactive sessions only, so batch output stays reproducible. -Dscheduler.reminders=false
+    // turns them off; -Dscheduler.reminders.lead sets the minutes of warning before a task starts.
+    private static void startReminders() {
+        if (!Boolean.parseBoolean(System.getProperty("scheduler.reminders", "true"))) {
+            return;
+        }
+        ReminderEngine reminders = new ReminderEngine(manager, Clock.systemDefaultZone(),
+                Duration.ofMinutes(Math.max(0, Long.getLong("scheduler.reminders.lead", 10))));
+        reminders.addObserver(new UserNotification());
+        reminders.start();
+    }
+
+    // Lets JConsole or a local JMX scraper read the stats shown by the stats command
+    private static void registerStatsMBeans() {
+        try {
+            manager.getStats().registerMBeans();
+        } catch (JMException e) {
+            logger.log(Level.WARNING, "Failed to register the schedule stats with JMX: {0}", e.getMessage());
+        }
+    }
+
+    // -Dscheduler.conflictPolicy=ask (default), override, reject or queue.
+    // Without a console (scanner is null) the default is reject and nothing is queued.
+    private static void configureConflictPolicy(Scanner scanner) {
+        String policy = System.getProperty("scheduler.conflictPolicy", scanner == null ? "reject" : "ask");
+        if (scanner == null && (policy.equalsIgnoreCase("ask") || policy.equalsIgnoreCase("queue"))) {
+            logger.log(Level.WARNING, "Conflict policy '{0}' needs a console, rejecting conflicts instead.", policy);
+            policy = "reject";
+        }
+        switch (policy.toLowerCase()) {
+            case "override" -> manager.setConflictPolicy(ConflictPolicy.ALWAYS_OVERRIDE);
+            case "reject" -> manager.setConflictPolicy(ConflictPolicy.REJECT);
+            case "queue" -> {
+                reviewQueue = new ReviewQueueConflictPolicy();
+                manager.setConflictPolicy(reviewQueue);
+            }
+            default -> {
+                if (!policy.equalsIgnoreCase("ask")) {
+                    logger.log(Level.WARNING, "Unknown conflict policy '{0}', asking at the console.", policy);
+                }
+                manager.setConflictPolicy(new ConsoleConflictPolicy(scanner));
+            }
+        }
+    }
+
+    private static void processCommand(String command, Scanner scanner) {
+        try {
+            switch (command.toLowerCase()) {
+                case "add" -> addTask(scanner);
+                case "add --auto" -> autoAddTask(scanner);
+                case "add --repeat" -> addRecurringTask(scanner);
+                case "skip" -> skipOccurrence(scanner);
+                case "remove" -> removeTask(scanner);
+                case "view" -> manager.viewTasks();
+                case "edit" -> editTask(scanner);
+                case "mark" -> markTask(scanner);
+                case "view priority" -> viewByPriority(scanner);
+                case "view range" -> viewByRange(scanner);
+                case "view logs" -> viewLogs();
+                case "import" -> importTasks(scanner, false);
+                case "plan" -> importTasks(scanner, true);
+                case "review" -> reviewQueuedTasks(scanner);
+                case "stats" -> manager.getStats().printReport();
+                case "undo" -> manager.undo();
+                case "redo" -> manager.redo();
+                case "help" -> displayHelp();
+                default -> {
+                    if (command.toLowerCase().startsWith("view logs ")) {
+                        queryLogs(command.substring("view logs ".length()));
+                    } else {
+                        System.out.println("Unknown command. Type 'help' to see the list of commands.");
+                    }
+                }
+            }
+        } catch (InvalidTimeException e) {
+            logger.log(Level.SEVERE, "An error occurred while processing command '{0}': {1}", new Object[]{command, e.getMessage()});
+            System.out.println("An error occurred: " + e.getMessage());
+        } catch (UncheckedIOException e) {
+            logger.log(Level.SEVERE, "Failed to save the change made by command '{0}': {1}", new Object[]{command, e.getMessage()});
+            System.out.println("Error: The change could not be saved: " + e.getMessage());
+        }
+    }
+
+    private static void addTask(Scanner scanner) throws InvalidTimeException {
+        manager.addTask(readTask(scanner));
+    }
+
+    // Like add, but a conflicting task is moved to the nearest free slot instead of being rejected
+    private static void autoAddTask(Scanner scanner) throws InvalidTimeException {
+        manager.autoPlaceTask(readTask(scanner));
+    }
+
+    // The first occurrence is entered like a task, followed by how it repeats
+    private static void addRecurringTask(Scanner scanner) throws InvalidTimeException {
+        System.out.print("Enter description: ");
+        String description = scanner.nextLine();
+        System.out.print("Enter first start time (HH:MM): ");
+        String startTime = scanner.nextLine();
+        System.out.print("Enter first end time (HH:MM): ");
+        String endTime = scanner.nextLine();
+        System.out.print("Enter repeat interval (minutes or HH:MM): ");
+        String every = scanner.nextLine();
+        System.out.print("Enter latest start time (HH:MM): ");
+        String until = scanner.nextLine();
+        System.out.print("Enter priority (High, Medium, Low): ");
+        String priority = scanner.nextLine();
+
+        manager.addRecurringTask(TaskFactory.createRecurringTask(description, startTime, endTime, every, until, priority));
+    }
+
+    private static void skipOccurrence(Scanner scanner) {
+        System.out.print("Enter description of the recurring task: ");
+        String description = scanner.nextLine();
+        System.out.print("Enter start time of the occurrence to skip (HH:MM): ");
+        String startStr = scanner.nextLine();
+
+        try {
+            manager.skipOccurrence(description, LocalTime.parse(startStr));
+        } catch (DateTimeParseException e) {
+            System.out.println("Invalid time format. Please use HH:MM (24-hour format).");
+            logger.log(Level.WARNING, "Invalid occurrence time entered: {0}", startStr);
+        }
+    }
+
+    private static Task readTask(Scanner scanner) throws InvalidTimeException {
+        System.out.print("Enter description: ");
+        String description = scanner.nextLine();
+        System.out.print("Enter start time (HH:MM): ");
+        String startTime = scanner.nextLine();
+        System.out.print("Enter end time (HH:MM): ");
+        String endTime = scanner.nextLine();
+        System.out.print("Enter priority (High, Medium, Low): ");
+        String priority = scanner.nextLine();
+
+        return TaskFactory.createTask(description, startTime, endTime, priority);
+    }
+
+    private static void removeTask(Scanner scanner) {
+        System.out.print("Enter task description to remove: ");
+        String description = scanner.nextLine();
+        manager.removeTask(description);
+    }
+
+    private static void editTask(Scanner scanner) throws InvalidTimeException {
+        System.out.print("Enter description of the task to edit: ");
+        String oldDescription = scanner.nextLine();
+
+        System.out.println("Enter new details for the task.");
+        System.out.print("Enter description: ");
+        String description = scanner.nextLine();
+        System.out.print("Enter start time (HH:MM): ");
+        String startTime = scanner.nextLine();
+        System.out.print("Enter end time (HH:MM): ");
+        String endTime = scanner.nextLine();
+        System.out.print("Enter priority (High, Medium, Low): ");
+        String priority = scanner.nextLine();
+
+        Task newTask = TaskFactory.createTask(description, startTime, endTime, priority);
+        manager.editTask(oldDescription, newTask);
+    }
+
+    private static void markTask(Scanner scanner) {
+        System.out.print("Enter task description to mark as completed: ");
+        String description = scanner.nextLine();
+        manager.markTaskAsCompleted(description);
+    }
+
+    private static void viewByPriority(Scanner scanner) {
+        System.out.print("Enter priority level to view (High, Medium, Low): ");
+        String priorityStr = scanner.nextLine();
+
+        try {
+            PriorityLevel priority = PriorityLevel.valueOf(priorityStr.toUpperCase());
+            manager.viewTasksByPriority(priority);
+        } catch (IllegalArgumentException e) {
+            System.out.println("Invalid priority level.");
+            logger.log(Level.WARNING, "Invalid priority level entered: {0}", priorityStr);
+        }
+    }
+
+    private static void viewByRange(Scanner scanner) {
+        System.out.print("Enter range start time (HH:MM): ");
+        String fromStr = scanner.nextLine();
+        System.out.print("Enter range end time (HH:MM): ");
+        String toStr = scanner.nextLine();
+
+        try {
+            LocalTime from = LocalTime.parse(fromStr);
+            LocalTime to = LocalTime.parse(toStr);
+            if (!from.isBefore(to)) {
+                System.out.println("Range start must be before range end.");
+                return;
+            }
+            manager.viewTasksBetween(from, to);
+        } catch (DateTimeParseException e) {
+            System.out.println("Invalid time format. Please use HH:MM (24-hour format).");
+            logger.log(Level.WARNING, "Invalid time range entered: {0} - {1}", new Object[]{fromStr, toStr});
+        }
+    }
+
+    // With plan = true the file's tasks are chosen together for the highest total priority,
+    // instead of being added in file order
+    private static void importTasks(Scanner scanner, boolean plan) {
+        System.out.print("Enter path of the CSV or JSON file to " + (plan ? "plan" : "import") + ": ");
+        String fileName = scanner.nextLine().trim();
+
+        try {
+            ImportReport report = plan ? TaskImporter.planFile(Path.of(fileName), manager) : TaskImporter.importFile(Path.of(fileName), manager);
+            System.out.println((plan ? "Plan" : "Import") + " finished: " + report);
+            List<ImportReport.RowError> errors = report.getErrors();
+            for (int i = 0; i < errors.size() && i < MAX_IMPORT_ERRORS_SHOWN; i++) {
+                System.out.println("- " + errors.get(i));
+            }
+            if (errors.size() > MAX_IMPORT_ERRORS_SHOWN) {
+                System.out.println("... and " + (errors.size() - MAX_IMPORT_ERRORS_SHOWN) + " more rejected rows.");
+            }
+            logger.log(Level.INFO, "Imported tasks from '{0}': {1}", new Object[]{fileName, report});
+        } catch (IOException | InvalidPathException e) {
+            System.out.println("Could not read file: " + e.getMessage());
+            logger.log(Level.WARNING, "Failed to import tasks from '{0}': {1}", new Object[]{fileName, e.getMessage()});
+        }
+    }
+
+    private static void reviewQueuedTasks(Scanner scanner) {
+        if (reviewQueue == null) {
+            System.out.println("Conflicts are not queued for review. Start with -Dscheduler.conflictPolicy=queue to queue them.");
+            return;
+        }
+        Task task = reviewQueue.pollPending();
+        if (task == null) {
+            System.out.println("No tasks waiting for review.");
+            return;
+        }
+        while (task != null) {
+            System.out.print("Override conflicting tasks with " + task + "? (yes/no): ");
+            if (scanner.nextLine().trim().equalsIgnoreCase("yes")) {
+                manager.addTask(task, ConflictPolicy.ALWAYS_OVERRIDE);
+            } else {
+                System.out.println("Task discarded.");
+                logger.log(Level.INFO, "Queued task '{0}' discarded on review.", task.getDescription());
+            }
+            task = reviewQueue.pollPending();
+        }
+    }
+
+    private static void viewLogs() {
+        List<String> logLines = LoggerManager.getInMemoryLogs();
+        if (logLines.isEmpty()) {
+            System.out.println("No logs available for this session.");
+        } else {
+            System.out.println("Session Logs:");
+            for (String line : logLines) {
+                System.out.println(line);
+            }
+        }
+    }
+
+    // view logs --level WARNING --since 10:00 --task EVA --page 2
+    private static void queryLogs(String options) {
+        try {
+            LogQuery query = LogQuery.parse(BatchRunner.tokenize(options));
+            LogQuery.Result result = LoggerManager.queryLogs(query);
+            if (result.getLines().isEmpty()) {
+                System.out.println("No matching log entries on page " + result.getPage() + ".");
+                return;
+            }
+            for (String line : result.getLines()) {
+                System.out.println(line);
+            }
+            if (result.hasMore()) {
+                System.out.println("More entries on page " + (result.getPage() + 1) + " (--page " + (result.getPage() + 1) + ").");
+            }
+        } catch (IllegalArgumentException e) {
+            System.out.println("Error: " + e.getMessage());
+        } catch (IOException e) {
+            System.out.println("Could not read the log files: " + e.getMessage());
+            logger.log(Level.WARNING, "Failed to query logs: {0}", e.getMessage());
+        }
+    }
+
+    private static void displayHelp() {
+        System.out.println("Available commands:");
+        System.out.println("add             - Add a new task");
+        System.out.println("add --auto      - Add a task, moving it to a free slot if it conflicts");
+        System.out.println("add --repeat    - Add a task that repeats at a fixed interval through the day");
+        System.out.println("skip            - Skip one occurrence of a recurring task");
+        System.out.println("remove          - Remove an existing task, or a recurring task with all occurrences");
+        System.out.println("view            - View all tasks");
+        System.out.println("edit            - Edit an existing task");
+        System.out.println("mark            - Mark a task as completed");
+        System.out.println("view priority   - View tasks by priority");
+        System.out.println("view range      - View tasks between two times");
+        System.out.println("view logs       - View application logs");
+        System.out.println("view logs --level WARNING --since 10:00 --task EVA --page 2");
+        System.out.println("                - Search the log files; every option is optional");
+        System.out.println("import          - Import tasks from a CSV or JSON file");
+        System.out.println("plan            - Add the tasks of a CSV or JSON file that give the highest total priority");
+        System.out.println("review          - Review tasks queued because of conflicts");
+        System.out.println("stats           - Show operation latencies and conflict counts");
+        System.out.println("undo            - Undo the latest change, e.g. an edit or an override");
+        System.out.println("redo            - Redo the latest undone change");
+        System.out.println("help            - Display this help message");
+        System.out.println("exit            - Exit the application");
+    }
+}
@@ -1,3 +1,5 @@
+package com.astronaut.scheduler;
+
 public interface Observer {
     void update(String message);
 }
\ No newline at end of file
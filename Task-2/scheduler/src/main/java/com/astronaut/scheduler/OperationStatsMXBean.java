@@ -0,0 +1,17 @@
+package com.astronaut.scheduler;
+
+// Latency of one ScheduleManager operation, registered as
+// com.astronaut.scheduler:type=ScheduleStats,operation=<name>
+public interface OperationStatsMXBean {
+    long getCount();
+
+    double getMeanMicros();
+
+    double getP50Micros();
+
+    double getP99Micros();
+
+    double getP999Micros();
+
+    double getMaxMicros();
+}
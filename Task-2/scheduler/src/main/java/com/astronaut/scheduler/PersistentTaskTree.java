@@ -0,0 +1,364 @@
+package com.astronaut.scheduler;
+
+import java.time.LocalTime;
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.Consumer;
+
+// Immutable AVL tree of tasks ordered by start time, then description. An update copies only
+// the O(log n) nodes on the path to the change and shares every other node with the tree it
+// came from, so keeping many versions of a large schedule is cheap. Nodes also store subtree
+// sizes, so the i-th task and the position of a time are found in O(log n).
+// Tasks in the tree must not be changed; replace them with updated copies instead.
+public final class PersistentTaskTree {
+    public static final PersistentTaskTree EMPTY = new PersistentTaskTree(null);
+
+    private final Node root;
+    private final List<Task> view = new TaskList();
+
+    private PersistentTaskTree(Node root) {
+        this.root = root;
+    }
+
+    public int size() {
+        return size(root);
+    }
+
+    // Adds the task, replacing a task with the same start time and description
+    public PersistentTaskTree with(Task task) {
+        return new PersistentTaskTree(insert(root, task.getStartTime().toNanoOfDay(), task));
+    }
+
+    // Removes the task with the same start time and description, if present
+    public PersistentTaskTree without(Task task) {
+        Node newRoot = remove(root, task.getStartTime().toNanoOfDay(), task);
+        return newRoot == root ? this : new PersistentTaskTree(newRoot);
+    }
+
+    public Task get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        Node node = root;
+        while (true) {
+            int leftSize = size(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index == leftSize) {
+                return node.task;
+            } else {
+                index -= leftSize + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    // Number of tasks starting before 'time', which is also the index of the first task
+    // starting at or after it
+    public int indexOf(LocalTime time) {
+        long start = time.toNanoOfDay();
+        int index = 0;
+        Node node = root;
+        while (node != null) {
+            if (node.start < start) {
+                index += size(node.left) + 1;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return index;
+    }
+
+    // Levels of nodes on the longest path from the root; at most about 1.44 log2(n) for AVL
+    int height() {
+        return height(root);
+    }
+
+    // Nodes of this tree that are not also nodes of 'other', for checking what an update copied
+    int nodesNotIn(PersistentTaskTree other) {
+        Set<Node> shared = Collections.newSetFromMap(new IdentityHashMap<>());
+        collect(other.root, shared);
+        Set<Node> own = Collections.newSetFromMap(new IdentityHashMap<>());
+        collect(root, own);
+        own.removeAll(shared);
+        return own.size();
+    }
+
+    private static void collect(Node node, Set<Node> nodes) {
+        if (node != null && nodes.add(node)) {
+            collect(node.left, nodes);
+            collect(node.right, nodes);
+        }
+    }
+
+    // Read-only list view in order; get(i) is O(log n), iteration O(1) per task
+    public List<Task> asList() {
+        return view;
+    }
+
+    // In-order iterator starting at the given index
+    public Iterator<Task> iterator(int fromIndex) {
+        return new TreeIterator(root, fromIndex);
+    }
+
+    // Reports what changed from 'before' to 'after', in order. Subtrees the two trees share
+    // are skipped without being visited, so the cost follows the number of changes rather
+    // than the size of the schedule.
+    public static void diff(PersistentTaskTree before, PersistentTaskTree after, DiffVisitor visitor) {
+        Deque<Object> left = new ArrayDeque<>();
+        Deque<Object> right = new ArrayDeque<>();
+        if (before.root != null) {
+            left.push(before.root);
+        }
+        if (after.root != null) {
+            right.push(after.root);
+        }
+
+        // A cursor holds the rest of a tree in order: a Node stands for a whole subtree not yet
+        // expanded, a Task for a single task whose left subtree is already done
+        while (!left.isEmpty() && !right.isEmpty()) {
+            Object l = left.peek();
+            Object r = right.peek();
+            if (l == r) {
+                left.pop();
+                right.pop();
+            } else if (l instanceof Node && (r instanceof Task || size((Node) l) >= size((Node) r))) {
+                expand(left);
+            } else if (r instanceof Node) {
+                expand(right);
+            } else {
+                Task a = (Task) l;
+                Task b = (Task) r;
+                int order = compare(a.getStartTime().toNanoOfDay(), a, b);
+                if (order < 0) {
+                    left.pop();
+                    visitor.removed(a);
+                } else if (order > 0) {
+                    right.pop();
+                    visitor.added(b);
+                } else {
+                    left.pop();
+                    right.pop();
+                    if (!sameContent(a, b)) {
+                        visitor.changed(a, b);
+                    }
+                }
+            }
+        }
+        drain(left, visitor::removed);
+        drain(right, visitor::added);
+    }
+
+    public interface DiffVisitor {
+        void added(Task task);
+
+        void removed(Task task);
+
+        // Same start time and description, different end time, priority or completion
+        void changed(Task before, Task after);
+    }
+
+    private static void expand(Deque<Object> cursor) {
+        Node node = (Node) cursor.pop();
+        if (node.right != null) {
+            cursor.push(node.right);
+        }
+        cursor.push(node.task);
+        if (node.left != null) {
+            cursor.push(node.left);
+        }
+    }
+
+    private static void drain(Deque<Object> cursor, Consumer<Task> action) {
+        while (!cursor.isEmpty()) {
+            if (cursor.peek() instanceof Node) {
+                expand(cursor);
+            } else {
+                action.accept((Task) cursor.pop());
+            }
+        }
+    }
+
+    private static boolean sameContent(Task a, Task b) {
+        return a == b || (a.getEndTime().equals(b.getEndTime()) && a.getPriority() == b.getPriority()
+                && a.isCompleted() == b.isCompleted() && a.getDescription().equals(b.getDescription()));
+    }
+
+    // 'start' is a's start time as nano-of-day
+    private static int compare(long start, Task a, Task b) {
+        long bStart = b.getStartTime().toNanoOfDay();
+        if (start != bStart) {
+            return start < bStart ? -1 : 1;
+        }
+        return a.getDescription().compareToIgnoreCase(b.getDescription());
+    }
+
+    private static int compare(long start, Task task, Node node) {
+        if (start != node.start) {
+            return start < node.start ? -1 : 1;
+        }
+        return task.getDescription().compareToIgnoreCase(node.task.getDescription());
+    }
+
+    // AVL operations; every change returns new nodes along the path
+
+    private static final class Node {
+        private final Task task;
+        // The task's start time as nano-of-day, kept here so searches touch only the nodes
+        private final long start;
+        private final Node left;
+        private final Node right;
+        private final int height;
+        private final int size;
+
+        private Node(Task task, Node left, Node right) {
+            this.task = task;
+            this.start = task.getStartTime().toNanoOfDay();
+            this.left = left;
+            this.right = right;
+            this.height = Math.max(height(left), height(right)) + 1;
+            this.size = size(left) + size(right) + 1;
+        }
+    }
+
+    private static int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static Node insert(Node node, long start, Task task) {
+        if (node == null) {
+            return new Node(task, null, null);
+        }
+        int order = compare(start, task, node);
+        if (order < 0) {
+            return balance(node.task, insert(node.left, start, task), node.right);
+        }
+        if (order > 0) {
+            return balance(node.task, node.left, insert(node.right, start, task));
+        }
+        return new Node(task, node.left, node.right);
+    }
+
+    private static Node remove(Node node, long start, Task task) {
+        if (node == null) {
+            return null;
+        }
+        int order = compare(start, task, node);
+        if (order < 0) {
+            Node left = remove(node.left, start, task);
+            return left == node.left ? node : balance(node.task, left, node.right);
+        }
+        if (order > 0) {
+            Node right = remove(node.right, start, task);
+            return right == node.right ? node : balance(node.task, node.left, right);
+        }
+        if (node.left == null) {
+            return node.right;
+        }
+        if (node.right == null) {
+            return node.left;
+        }
+        Node successor = node.right;
+        while (successor.left != null) {
+            successor = successor.left;
+        }
+        return balance(successor.task, node.left, removeFirst(node.right));
+    }
+
+    private static Node removeFirst(Node node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        return balance(node.task, removeFirst(node.left), node.right);
+    }
+
+    private static Node balance(Task task, Node left, Node right) {
+        int difference = height(left) - height(right);
+        if (difference > 1) {
+            if (height(left.left) < height(left.right)) {
+                left = rotateLeft(left.task, left.left, left.right);
+            }
+            return new Node(left.task, left.left, new Node(task, left.right, right));
+        }
+        if (difference < -1) {
+            if (height(right.right) < height(right.left)) {
+                right = rotateRight(right.task, right.left, right.right);
+            }
+            return new Node(right.task, new Node(task, left, right.left), right.right);
+        }
+        return new Node(task, left, right);
+    }
+
+    private static Node rotateLeft(Task task, Node left, Node right) {
+        return new Node(right.task, new Node(task, left, right.left), right.right);
+    }
+
+    private static Node rotateRight(Task task, Node left, Node right) {
+        return new Node(left.task, left.left, new Node(task, left.right, right));
+    }
+
+    private final class TaskList extends AbstractList<Task> {
+        @Override
+        public Task get(int index) {
+            return PersistentTaskTree.this.get(index);
+        }
+
+        @Override
+        public int size() {
+            return PersistentTaskTree.this.size();
+        }
+
+        @Override
+        public Iterator<Task> iterator() {
+            return new TreeIterator(root, 0);
+        }
+    }
+
+    private static final class TreeIterator implements Iterator<Task> {
+        // Nodes whose task and right subtree are still to come, innermost on top
+        private final Deque<Node> path = new ArrayDeque<>();
+
+        private TreeIterator(Node root, int fromIndex) {
+            Node node = root;
+            while (node != null) {
+                int leftSize = size(node.left);
+                if (fromIndex <= leftSize) {
+                    path.push(node);
+                    node = node.left;
+                } else {
+                    fromIndex -= leftSize + 1;
+                    node = node.right;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !path.isEmpty();
+        }
+
+        @Override
+        public Task next() {
+            if (path.isEmpty()) {
+                throw new NoSuchElementException();
+            }
+            Node node = path.pop();
+            for (Node next = node.right; next != null; next = next.left) {
+                path.push(next);
+            }
+            return node.task;
+        }
+    }
+}
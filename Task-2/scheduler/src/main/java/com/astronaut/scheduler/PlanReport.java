@@ -0,0 +1,29 @@
+package com.astronaut.scheduler;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+// Outcome of planning a set of candidate tasks: the tasks kept, in start-time order, and the
+// tasks dropped, in input order, each with the reason
+public class PlanReport {
+    private final List<Task> planned;
+    private final Map<Task, String> dropped;
+    private final long totalWeight;
+
+    PlanReport(List<Task> planned, Map<Task, String> dropped, long totalWeight) {
+        this.planned = Collections.unmodifiableList(planned);
+        this.dropped = Collections.unmodifiableMap(dropped);
+        this.totalWeight = totalWeight;
+    }
+
+    public List<Task> getPlanned() { return planned; }
+    public Map<Task, String> getDropped() { return dropped; }
+    // Sum of the weights of the planned tasks; the optimizer makes this as large as possible
+    public long getTotalWeight() { return totalWeight; }
+
+    @Override
+    public String toString() {
+        return String.format("%d tasks planned, %d dropped, total priority weight %d", planned.size(), dropped.size(), totalWeight);
+    }
+}
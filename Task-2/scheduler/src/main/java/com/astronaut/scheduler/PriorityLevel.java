@@ -0,0 +1,12 @@
+package com.astronaut.scheduler;
+
+// Declared from highest to lowest priority
+public enum PriorityLevel {
+    HIGH,
+    MEDIUM,
+    LOW;
+
+    public boolean isHigherThan(PriorityLevel other) {
+        return ordinal() < other.ordinal();
+    }
+}
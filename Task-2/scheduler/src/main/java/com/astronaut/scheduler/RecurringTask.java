@@ -0,0 +1,215 @@
+package com.astronaut.scheduler;
+
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+// A task that repeats through the day, e.g. a 20-minute comms pass every 90 minutes from 08:00.
+// Only the rule is stored: occurrence i runs from firstStart + i * interval for 'duration'.
+// Occurrences are created on demand for the window being checked or viewed. An occurrence that
+// was overridden or removed is recorded as skipped, by index, rather than copied out.
+// Immutable; the with... methods return changed copies.
+public final class RecurringTask {
+    private static final long NANOS_PER_DAY = 86_400_000_000_000L;
+
+    private final String description;
+    private final long firstStart;
+    private final long duration;
+    private final long interval;
+    private final int count;
+    private final PriorityLevel priority;
+    // Never changed once the rule is built
+    private final BitSet skipped;
+
+    // Occurrences start every 'interval' from 'firstStart', the last one no later than 'lastStart'
+    public RecurringTask(String description, LocalTime firstStart, LocalTime lastStart, Duration duration,
+                         Duration interval, PriorityLevel priority) {
+        this(description, firstStart.toNanoOfDay(), duration.toNanos(), interval.toNanos(),
+                countOccurrences(firstStart, lastStart, interval), priority, new BitSet());
+    }
+
+    // Checked before dividing: truncation would turn a last start up to one interval before
+    // the first start into one occurrence starting after it
+    private static int countOccurrences(LocalTime firstStart, LocalTime lastStart, Duration interval) {
+        if (lastStart.isBefore(firstStart)) {
+            throw new IllegalArgumentException("The last start must not be before the first start.");
+        }
+        if (interval.isZero() || interval.isNegative()) {
+            return 0;
+        }
+        return (int) Math.min(Integer.MAX_VALUE, (lastStart.toNanoOfDay() - firstStart.toNanoOfDay()) / interval.toNanos() + 1);
+    }
+
+    private RecurringTask(String description, long firstStart, long duration, long interval, int count,
+                          PriorityLevel priority, BitSet skipped) {
+        if (duration <= 0 || interval < duration) {
+            throw new IllegalArgumentException("The interval must be at least as long as the task.");
+        }
+        if (count < 1) {
+            throw new IllegalArgumentException("The last start must not be before the first start.");
+        }
+        if (firstStart + (count - 1) * interval + duration >= NANOS_PER_DAY) {
+            throw new IllegalArgumentException("Every occurrence must end before midnight.");
+        }
+        this.description = description;
+        this.firstStart = firstStart;
+        this.duration = duration;
+        this.interval = interval;
+        this.count = count;
+        this.priority = priority;
+        this.skipped = skipped;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public PriorityLevel getPriority() {
+        return priority;
+    }
+
+    public LocalTime getFirstStart() {
+        return LocalTime.ofNanoOfDay(firstStart);
+    }
+
+    public LocalTime getLastStart() {
+        return LocalTime.ofNanoOfDay(startOf(count - 1));
+    }
+
+    public Duration getDuration() {
+        return Duration.ofNanos(duration);
+    }
+
+    public Duration getInterval() {
+        return Duration.ofNanos(interval);
+    }
+
+    // Occurrences the rule describes, including skipped ones
+    public int getCount() {
+        return count;
+    }
+
+    public int getSkippedCount() {
+        return skipped.cardinality();
+    }
+
+    public boolean isSkipped(int index) {
+        return skipped.get(index);
+    }
+
+    // Occurrences that overlap [from, to), in start order, skipped ones left out
+    public List<Task> occurrencesBetween(LocalTime from, LocalTime to) {
+        List<Task> occurrences = new ArrayList<>();
+        int end = lastIndexBefore(to.toNanoOfDay());
+        for (int i = nextOccurrence(firstIndexEndingAfter(from.toNanoOfDay()), end); i < end; i = nextOccurrence(i + 1, end)) {
+            occurrences.add(occurrence(i));
+        }
+        return occurrences;
+    }
+
+    public List<Task> occurrences() {
+        return occurrencesBetween(LocalTime.MIN, LocalTime.MAX);
+    }
+
+    // True if an occurrence that is not skipped overlaps [start, end); O(1) apart from the skip lookup
+    public boolean overlaps(LocalTime start, LocalTime end) {
+        int last = lastIndexBefore(end.toNanoOfDay());
+        return nextOccurrence(firstIndexEndingAfter(start.toNanoOfDay()), last) < last;
+    }
+
+    // Index of the occurrence starting at 'start', or -1 if none does
+    public int indexOf(LocalTime start) {
+        long offset = start.toNanoOfDay() - firstStart;
+        if (offset < 0 || offset % interval != 0 || offset / interval >= count) {
+            return -1;
+        }
+        return (int) (offset / interval);
+    }
+
+    // A copy with every occurrence overlapping [start, end) skipped
+    public RecurringTask withSkippedBetween(LocalTime start, LocalTime end) {
+        int from = firstIndexEndingAfter(start.toNanoOfDay());
+        int to = lastIndexBefore(end.toNanoOfDay());
+        BitSet newSkipped = (BitSet) skipped.clone();
+        if (from < to) {
+            newSkipped.set(from, to);
+        }
+        return new RecurringTask(description, firstStart, duration, interval, count, priority, newSkipped);
+    }
+
+    public RecurringTask withSkipped(int index) {
+        BitSet newSkipped = (BitSet) skipped.clone();
+        newSkipped.set(index);
+        return new RecurringTask(description, firstStart, duration, interval, count, priority, newSkipped);
+    }
+
+    public Task occurrence(int index) {
+        long start = startOf(index);
+        return new Task(description, LocalTime.ofNanoOfDay(start), LocalTime.ofNanoOfDay(start + duration), priority);
+    }
+
+    private long startOf(int index) {
+        return firstStart + index * interval;
+    }
+
+    // First index whose occurrence ends after 'time'
+    private int firstIndexEndingAfter(long time) {
+        long offset = time - firstStart - duration;
+        if (offset < 0) {
+            return 0;
+        }
+        return (int) Math.min(count, offset / interval + 1);
+    }
+
+    // One past the last index whose occurrence starts before 'time'
+    private int lastIndexBefore(long time) {
+        long offset = time - firstStart;
+        if (offset <= 0) {
+            return 0;
+        }
+        return (int) Math.min(count, (offset + interval - 1) / interval);
+    }
+
+    private int nextOccurrence(int from, int end) {
+        return from >= end ? end : Math.min(end, skipped.nextClearBit(from));
+    }
+
+    // Journal and snapshot format
+    long getFirstStartNanos() {
+        return firstStart;
+    }
+
+    long getDurationNanos() {
+        return duration;
+    }
+
+    long getIntervalNanos() {
+        return interval;
+    }
+
+    long[] getSkippedWords() {
+        return skipped.toLongArray();
+    }
+
+    static RecurringTask restore(String description, long firstStart, long duration, long interval, int count,
+                                 PriorityLevel priority, long[] skippedWords) {
+        return new RecurringTask(description, firstStart, duration, interval, count, priority, BitSet.valueOf(skippedWords));
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s - %s every %s, %d times until %s: %s [%s]%s",
+                getFirstStart(), LocalTime.ofNanoOfDay(firstStart + duration), formatInterval(), count,
+                getLastStart(), description, priority,
+                skipped.isEmpty() ? "" : " (" + skipped.cardinality() + " skipped)");
+    }
+
+    private String formatInterval() {
+        long minutes = interval / 60_000_000_000L;
+        return minutes * 60_000_000_000L == interval
+                ? String.format("%d:%02d", minutes / 60, minutes % 60)
+                : Duration.ofNanos(interval).toString();
+    }
+}
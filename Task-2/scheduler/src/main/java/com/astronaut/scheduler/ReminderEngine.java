@@ -0,0 +1,227 @@
+package com.astronaut.scheduler;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// Tells observers when a task is about to start ('lead' before) and when it starts. Reminders
+// wait in a TimerWheel driven by one ticker thread, so hundreds of thousands of them need no
+// thread or Timer each. On every tick the engine diffs the schedule's latest version against
+// the one it last saw and cancels or schedules only the reminders of the tasks that changed,
+// so edits, moves and removals are picked up within a tick without hooks in the write path.
+// Completed tasks and skipped occurrences get no reminders. The schedule is a daily plan:
+// when the clock passes midnight, the reminders are set up again for the new day.
+public class ReminderEngine {
+    private static final Duration DEFAULT_TICK = Duration.ofSeconds(1);
+    // 4096 one-second ticks, about 68 minutes per turn of the wheel
+    private static final int WHEEL_SLOTS = 4096;
+    private static final Logger logger = LoggerManager.getLogger();
+
+    private final ScheduleManager manager;
+    private final Clock clock;
+    private final Duration lead;
+    private final long tickNanos;
+    private final List<Observer> observers = new CopyOnWriteArrayList<>();
+
+    // Used by the ticker thread only, or by the single thread calling tick() when not started
+    private final TimerWheel<Reminder> wheel;
+    // By lower-case description; reminders that already fired stay listed until the task
+    // changes or the day ends, and cancelling them does nothing
+    private final Map<String, List<TimerWheel.Timeout<Reminder>>> pending = new HashMap<>();
+    private ScheduleVersion synced = ScheduleVersion.EMPTY;
+    private LocalDate day;
+
+    private volatile Thread ticker;
+
+    public ReminderEngine(ScheduleManager manager, Clock clock, Duration lead) {
+        this(manager, clock, lead, DEFAULT_TICK);
+    }
+
+    // The clock decides what time it is, so a test can pass a clock it moves by hand and call
+    // tick() itself instead of starting the ticker thread
+    public ReminderEngine(ScheduleManager manager, Clock clock, Duration lead, Duration tick) {
+        if (lead.isNegative() || tick.isNegative() || tick.isZero()) {
+            throw new IllegalArgumentException("Lead time must not be negative and the tick must be positive.");
+        }
+        this.manager = manager;
+        this.clock = clock;
+        this.lead = lead;
+        this.tickNanos = tick.toNanos();
+        this.wheel = new TimerWheel<>(WHEEL_SLOTS, 0);
+    }
+
+    // Observers are called on the ticker thread; wrap slow ones in an AsyncObserver
+    public void addObserver(Observer observer) {
+        observers.add(observer);
+    }
+
+    // Starts the daemon ticker thread, which calls tick() once per tick of real time
+    public synchronized void start() {
+        if (ticker != null) {
+            return;
+        }
+        Thread thread = new Thread(this::runTicker, "scheduler-reminders");
+        thread.setDaemon(true);
+        ticker = thread;
+        thread.start();
+    }
+
+    public synchronized void stop() {
+        Thread thread = ticker;
+        ticker = null;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    private void runTicker() {
+        long tickMillis = Math.max(1, tickNanos / 1_000_000);
+        while (ticker == Thread.currentThread()) {
+            try {
+                tick();
+                Thread.sleep(tickMillis);
+            } catch (InterruptedException e) {
+                return;
+            } catch (RuntimeException e) {
+                // Keep reminding; one bad observer or task must not stop the engine
+                logger.log(Level.SEVERE, "Reminder tick failed: {0}", e.toString());
+            }
+        }
+    }
+
+    // Brings the reminders in line with the schedule, then delivers those due by the clock's time
+    public void tick() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        if (!now.toLocalDate().equals(day)) {
+            // Reminders from before the engine started, or from yesterday, are not delivered
+            day = now.toLocalDate();
+            wheel.clear(tickOf(now.toLocalTime()));
+            pending.clear();
+            synced = ScheduleVersion.EMPTY;
+        }
+        sync(manager.getVersion());
+        wheel.advanceTo(tickOf(now.toLocalTime()), this::deliver);
+    }
+
+    // Reminders waiting to be delivered today
+    public int getPendingCount() {
+        return wheel.size();
+    }
+
+    private void sync(ScheduleVersion version) {
+        if (version == synced) {
+            return;
+        }
+        List<TaskChange> changes = synced.diff(version);
+        // Cancel first: a task moved earlier shows up as added before it shows up as removed
+        for (TaskChange change : changes) {
+            if (change.getBefore() != null) {
+                cancel(change.getBefore().getDescription());
+            }
+        }
+        for (RecurringTask rule : synced.getRecurringTasks()) {
+            if (!version.getRecurringTasks().contains(rule)) {
+                cancel(rule.getDescription());
+            }
+        }
+        for (TaskChange change : changes) {
+            if (change.getAfter() != null) {
+                schedule(change.getAfter());
+            }
+        }
+        // Rules are immutable, so a changed rule is a different object; only today's
+        // remaining occurrences are created
+        LocalTime from = LocalTime.ofNanoOfDay(Math.min(wheel.getCurrentTick() * tickNanos, LocalTime.MAX.toNanoOfDay()));
+        for (RecurringTask rule : version.getRecurringTasks()) {
+            if (!synced.getRecurringTasks().contains(rule)) {
+                for (Task occurrence : rule.occurrencesBetween(from, LocalTime.MAX)) {
+                    schedule(occurrence);
+                }
+            }
+        }
+        synced = version;
+    }
+
+    private void schedule(Task task) {
+        if (task.isCompleted()) {
+            return;
+        }
+        long start = task.getStartTime().toNanoOfDay();
+        long reminderAt = start - lead.toNanos();
+        if (!lead.isZero() && reminderAt >= 0) {
+            scheduleAt(reminderAt, new Reminder(task, false));
+        }
+        scheduleAt(start, new Reminder(task, true));
+    }
+
+    // Times already past are dropped
+    private void scheduleAt(long nanoOfDay, Reminder reminder) {
+        long tick = ceilDiv(nanoOfDay, tickNanos);
+        if (tick <= wheel.getCurrentTick()) {
+            return;
+        }
+        pending.computeIfAbsent(key(reminder.task.getDescription()), k -> new ArrayList<>(2))
+                .add(wheel.schedule(tick, reminder));
+    }
+
+    private void cancel(String description) {
+        List<TimerWheel.Timeout<Reminder>> timeouts = pending.remove(key(description));
+        if (timeouts != null) {
+            for (TimerWheel.Timeout<Reminder> timeout : timeouts) {
+                wheel.cancel(timeout);
+            }
+        }
+    }
+
+    private void deliver(Reminder reminder) {
+        Task task = reminder.task;
+        String message = reminder.start
+                ? "Task '" + task.getDescription() + "' starts now (" + task.getStartTime() + " - " + task.getEndTime() + ")."
+                : "Reminder: '" + task.getDescription() + "' starts at " + task.getStartTime() + " (in " + formatLead() + ").";
+        for (Observer observer : observers) {
+            observer.update(message);
+        }
+        logger.log(Level.INFO, "Reminder sent for task '{0}'.", task.getDescription());
+    }
+
+    private String formatLead() {
+        long minutes = lead.toMinutes();
+        return minutes * 60 == lead.getSeconds() && lead.getNano() == 0
+                ? minutes + (minutes == 1 ? " minute" : " minutes")
+                : lead.toString();
+    }
+
+    // The last whole tick reached at 'time'; a reminder is due at the first tick at or after its time
+    private long tickOf(LocalTime time) {
+        return time.toNanoOfDay() / tickNanos;
+    }
+
+    private static long ceilDiv(long value, long divisor) {
+        return -Math.floorDiv(-value, divisor);
+    }
+
+    private static String key(String description) {
+        return description.toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Reminder {
+        private final Task task;
+        // False for the reminder 'lead' before the start
+        private final boolean start;
+
+        private Reminder(Task task, boolean start) {
+            this.task = task;
+            this.start = start;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.astronaut.scheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+// Never changes the schedule on a conflict: the new task is queued for a person to review
+// later. An approved task can be added with ScheduleManager.addTask(task, ConflictPolicy.ALWAYS_OVERRIDE).
+public class ReviewQueueConflictPolicy implements ConflictPolicy {
+    private final Queue<Task> pendingTasks = new ConcurrentLinkedQueue<>();
+
+    @Override
+    public Resolution resolve(Task newTask, List<Task> conflictingTasks) {
+        pendingTasks.add(newTask);
+        return Resolution.QUEUE;
+    }
+
+    // Oldest queued task, removed from the queue; null when nothing is waiting
+    public Task pollPending() {
+        return pendingTasks.poll();
+    }
+
+    public List<Task> getPendingTasks() {
+        return new ArrayList<>(pendingTasks);
+    }
+}
@@ -0,0 +1,369 @@
+package com.astronaut.scheduler;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.logging.LogRecord;
+
+// Log file split into rolling segments, each with a small sidecar index so that queries
+// seek to matching lines instead of scanning the text:
+//   scheduler-000001.log    the formatted lines
+//   scheduler-000001.idx    one fixed-size entry per line: time, offset, length, level, task id
+//   scheduler-000001.tasks  the task descriptions seen in the segment; a task id is a position here
+// Index times never decrease, so --since is a binary search. Level and task filters scan the
+// index only, and the log is read just for the lines returned.
+// Writing is single-threaded (the AsyncLogHandler writer); queries may run on any thread.
+public class RollingLogStore {
+    private static final String PREFIX = "scheduler-";
+    private static final int ENTRY_SIZE = 8 + 8 + 4 + 4 + 4;
+    private static final int NO_TASK = -1;
+    private static final int READ_BUFFER = 64 * 1024;
+    private static final int MAX_TASK_NAME = 64 * 1024;
+
+    private final Path directory;
+    private final long segmentSize;
+    private final int maxSegments;
+
+    // Current segment, used by the writer only
+    private int segmentNumber;
+    private BufferedOutputStream log;
+    private DataOutputStream index;
+    private DataOutputStream tasks;
+    private long logOffset;
+    private long lastMillis;
+    private final Map<String, Integer> taskIds = new HashMap<>();
+
+    public RollingLogStore(Path directory, long segmentSize, int maxSegments) throws IOException {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.maxSegments = Math.max(1, maxSegments);
+        Files.createDirectories(directory);
+        List<Integer> segments = listSegments(directory);
+        openSegment(segments.isEmpty() ? 1 : segments.get(segments.size() - 1));
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    // Appends one formatted line; the task is taken from records logged as "... task '{0}' ..."
+    public void append(LogRecord record, String line) throws IOException {
+        if (logOffset >= segmentSize) {
+            closeSegment();
+            openSegment(segmentNumber + 1);
+            deleteOldSegments();
+        }
+        byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+        log.write(bytes);
+
+        lastMillis = Math.max(lastMillis, record.getMillis());
+        index.writeLong(lastMillis);
+        index.writeLong(logOffset);
+        index.writeInt(bytes.length);
+        index.writeInt(record.getLevel().intValue());
+        index.writeInt(taskId(record));
+        logOffset += bytes.length;
+    }
+
+    // Lines are flushed before the index entries that point at them
+    public void flush() throws IOException {
+        log.flush();
+        tasks.flush();
+        index.flush();
+    }
+
+    public void close() throws IOException {
+        closeSegment();
+    }
+
+    private int taskId(LogRecord record) {
+        String task = taskOf(record);
+        if (task == null) {
+            return NO_TASK;
+        }
+        String key = task.toLowerCase(Locale.ROOT);
+        Integer id = taskIds.get(key);
+        if (id == null) {
+            id = taskIds.size();
+            taskIds.put(key, id);
+            byte[] name = task.getBytes(StandardCharsets.UTF_8);
+            try {
+                tasks.writeInt(name.length);
+                tasks.write(name);
+            } catch (IOException e) {
+                return NO_TASK;
+            }
+        }
+        return id;
+    }
+
+    static String taskOf(LogRecord record) {
+        String message = record.getMessage();
+        Object[] parameters = record.getParameters();
+        if (message == null || parameters == null || parameters.length == 0 || !(parameters[0] instanceof String)) {
+            return null;
+        }
+        int placeholder = message.indexOf("'{0}'");
+        if (placeholder < 5 || !message.regionMatches(true, placeholder - 5, "task ", 0, 5)) {
+            return null;
+        }
+        return (String) parameters[0];
+    }
+
+    private void openSegment(int number) throws IOException {
+        segmentNumber = number;
+        Path logFile = segmentFile(directory, number, ".log");
+        Path indexFile = segmentFile(directory, number, ".idx");
+        Path tasksFile = segmentFile(directory, number, ".tasks");
+
+        // Reopening after a crash: keep whole task names, and whole index entries up to the
+        // first whose line or task name did not reach the disk. Each file's buffer can spill
+        // on its own, so an entry may have been written before what it points at.
+        taskIds.clear();
+        List<String> names = new ArrayList<>();
+        truncate(tasksFile, readTasks(tasksFile, names));
+        for (String name : names) {
+            taskIds.put(name.toLowerCase(Locale.ROOT), taskIds.size());
+        }
+        logOffset = Files.exists(logFile) ? Files.size(logFile) : 0;
+        long entries = Files.exists(indexFile) ? completeEntries(indexFile, logOffset, names.size()) : 0;
+        truncate(indexFile, entries * ENTRY_SIZE);
+        lastMillis = entries == 0 ? 0 : readEntryMillis(indexFile, entries - 1);
+
+        log = new BufferedOutputStream(new FileOutputStream(logFile.toFile(), true), READ_BUFFER);
+        index = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(indexFile.toFile(), true)));
+        tasks = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tasksFile.toFile(), true)));
+    }
+
+    private void closeSegment() throws IOException {
+        flush();
+        log.close();
+        tasks.close();
+        index.close();
+    }
+
+    private void deleteOldSegments() {
+        List<Integer> segments = listSegments(directory);
+        for (int i = 0; i < segments.size() - maxSegments; i++) {
+            for (String suffix : new String[]{".idx", ".tasks", ".log"}) {
+                try {
+                    Files.deleteIfExists(segmentFile(directory, segments.get(i), suffix));
+                } catch (IOException e) {
+                    // Retried on the next rollover
+                }
+            }
+        }
+    }
+
+    private static void truncate(Path file, long length) throws IOException {
+        if (Files.exists(file) && Files.size(file) > length) {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.truncate(length);
+            }
+        }
+    }
+
+    // Returns the length of the complete names read
+    private static long readTasks(Path file, List<String> names) throws IOException {
+        if (!Files.exists(file)) {
+            return 0;
+        }
+        long valid = 0;
+        try (InputStream in = Files.newInputStream(file);
+             DataInputStream data = new DataInputStream(new BufferedInputStream(in))) {
+            while (true) {
+                int length = data.readInt();
+                if (length < 0 || length > MAX_TASK_NAME) {
+                    return valid;
+                }
+                byte[] bytes = new byte[length];
+                data.readFully(bytes);
+                names.add(new String(bytes, StandardCharsets.UTF_8));
+                valid += 4 + bytes.length;
+            }
+        } catch (EOFException e) {
+            return valid;
+        }
+    }
+
+    // Entries before the first one pointing past the log or at a task id without a name
+    private static long completeEntries(Path indexFile, long logLength, int taskCount) throws IOException {
+        long entries = Files.size(indexFile) / ENTRY_SIZE;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexFile), READ_BUFFER))) {
+            for (long i = 0; i < entries; i++) {
+                in.readLong();
+                long offset = in.readLong();
+                int length = in.readInt();
+                in.readInt();
+                int task = in.readInt();
+                if (offset + length > logLength || task >= taskCount) {
+                    return i;
+                }
+            }
+        }
+        return entries;
+    }
+
+    private static long readEntryMillis(Path indexFile, long entry) throws IOException {
+        try (FileChannel channel = FileChannel.open(indexFile, StandardOpenOption.READ)) {
+            return readEntryMillis(channel, entry);
+        }
+    }
+
+    private static long readEntryMillis(FileChannel channel, long entry) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(8);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, entry * ENTRY_SIZE + buffer.position()) < 0) {
+                throw new EOFException();
+            }
+        }
+        return buffer.getLong(0);
+    }
+
+    // Query side
+
+    public LogQuery.Result query(LogQuery query) throws IOException {
+        int skip = (query.getPage() - 1) * LogQuery.PAGE_SIZE;
+        List<String> lines = new ArrayList<>(LogQuery.PAGE_SIZE);
+        boolean hasMore = false;
+
+        for (int number : listSegments(directory)) {
+            Path indexFile = segmentFile(directory, number, ".idx");
+            Path logFile = segmentFile(directory, number, ".log");
+            try (FileChannel indexChannel = FileChannel.open(indexFile, StandardOpenOption.READ);
+                 RandomAccessFile logReader = new RandomAccessFile(logFile.toFile(), "r")) {
+                boolean[] matchingTasks = null;
+                if (query.getTask() != null) {
+                    matchingTasks = matchingTasks(segmentFile(directory, number, ".tasks"), query.getTask());
+                    if (matchingTasks.length == 0) {
+                        continue;
+                    }
+                }
+
+                long entries = indexChannel.size() / ENTRY_SIZE;
+                long logLength = logReader.length();
+                ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER - READ_BUFFER % ENTRY_SIZE);
+                long position = firstEntryAtOrAfter(indexChannel, entries, query.getSinceMillis()) * ENTRY_SIZE;
+                buffer.limit(0);
+
+                while (true) {
+                    if (buffer.remaining() < ENTRY_SIZE) {
+                        buffer.clear();
+                        int read = indexChannel.read(buffer, position);
+                        buffer.flip();
+                        buffer.limit(buffer.limit() - buffer.limit() % ENTRY_SIZE);
+                        if (read <= 0 || buffer.remaining() < ENTRY_SIZE) {
+                            break;
+                        }
+                        position += buffer.remaining();
+                    }
+                    buffer.getLong();
+                    long offset = buffer.getLong();
+                    int length = buffer.getInt();
+                    int level = buffer.getInt();
+                    int task = buffer.getInt();
+
+                    if (level < query.getMinLevel() || offset + length > logLength) {
+                        continue;
+                    }
+                    if (matchingTasks != null && (task < 0 || task >= matchingTasks.length || !matchingTasks[task])) {
+                        continue;
+                    }
+                    if (skip > 0) {
+                        skip--;
+                        continue;
+                    }
+                    if (lines.size() == LogQuery.PAGE_SIZE) {
+                        hasMore = true;
+                        break;
+                    }
+                    lines.add(readLine(logReader, offset, length));
+                }
+            } catch (NoSuchFileException | FileNotFoundException e) {
+                // Segment removed by retention while we were reading
+            }
+            if (hasMore) {
+                break;
+            }
+        }
+        return new LogQuery.Result(lines, query.getPage(), hasMore);
+    }
+
+    private static long firstEntryAtOrAfter(FileChannel channel, long entries, long millis) throws IOException {
+        long low = 0;
+        long high = entries;
+        while (low < high) {
+            long mid = (low + high) >>> 1;
+            if (readEntryMillis(channel, mid) < millis) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // Indexed by task id; empty when no task in the segment matches
+    private static boolean[] matchingTasks(Path tasksFile, String task) throws IOException {
+        List<String> names = new ArrayList<>();
+        readTasks(tasksFile, names);
+        String wanted = task.toLowerCase(Locale.ROOT);
+        boolean[] matching = new boolean[names.size()];
+        boolean any = false;
+        for (int i = 0; i < names.size(); i++) {
+            matching[i] = names.get(i).toLowerCase(Locale.ROOT).contains(wanted);
+            any |= matching[i];
+        }
+        return any ? matching : new boolean[0];
+    }
+
+    private static String readLine(RandomAccessFile logReader, long offset, int length) throws IOException {
+        byte[] bytes = new byte[length];
+        logReader.seek(offset);
+        logReader.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8).stripTrailing();
+    }
+
+    private static Path segmentFile(Path directory, int number, String suffix) {
+        return directory.resolve(String.format("%s%06d%s", PREFIX, number, suffix));
+    }
+
+    // Segment numbers in ascending order
+    private static List<Integer> listSegments(Path directory) {
+        List<Integer> numbers = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, PREFIX + "*.log")) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                try {
+                    numbers.add(Integer.parseInt(name.substring(PREFIX.length(), name.length() - ".log".length())));
+                } catch (NumberFormatException e) {
+                    // Not a segment
+                }
+            }
+        } catch (IOException e) {
+            return numbers;
+        }
+        numbers.sort(null);
+        return numbers;
+    }
+}
@@ -0,0 +1,343 @@
+package com.astronaut.scheduler;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalTime;
+import java.util.zip.CRC32;
+
+// Append-only binary journal segment of schedule changes.
+//
+// Every ScheduleManager operation becomes one record holding all of its effects, so an
+// override or an edit is replayed entirely or not at all:
+//
+//   int length | int crc32(body) | body = long seq, int effectCount, effects...
+//
+// Records are framed on the caller's thread into an in-memory buffer. A committer thread
+// writes whatever has accumulated and fsyncs it with a single force(), so writers that
+// arrive while a force is in flight share the next one (group commit).
+public class ScheduleJournal implements AutoCloseable {
+    public interface Visitor {
+        void add(Task task);
+        void remove(String description);
+        void mark(String description);
+        // Adds a recurring task or replaces the one with the same description
+        void putRecurring(RecurringTask rule);
+        void removeRecurring(String description);
+    }
+
+    private static final byte OP_ADD = 1;
+    private static final byte OP_REMOVE = 2;
+    private static final byte OP_MARK = 3;
+    private static final byte OP_PUT_RECURRING = 4;
+    private static final byte OP_REMOVE_RECURRING = 5;
+    private static final int HEADER_BYTES = 8;
+    private static final int MAX_RECORD_BYTES = 64 * 1024 * 1024;
+
+    private final FileChannel channel;
+    private final Thread committer;
+
+    // Effects of the operation in progress; only touched by the thread holding the schedule's write lock
+    private final ByteArrayOutputStream operationBytes = new ByteArrayOutputStream();
+    private final DataOutputStream operation = new DataOutputStream(operationBytes);
+    private int operationEffects;
+
+    // Guarded by 'this'
+    private ByteArrayOutputStream pending = new ByteArrayOutputStream();
+    private long lastSeq;
+    private long durableSeq;
+    private IOException failure;
+    private boolean closed;
+
+    public ScheduleJournal(Path file, long lastSeq) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        this.lastSeq = lastSeq;
+        this.durableSeq = lastSeq;
+        this.committer = new Thread(this::commitLoop, "schedule-journal-commit");
+        this.committer.setDaemon(true);
+        this.committer.start();
+    }
+
+    public void recordAdd(Task task) {
+        try {
+            operation.writeByte(OP_ADD);
+            writeTask(operation, task);
+            operationEffects++;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void recordRemove(String description) {
+        recordDescription(OP_REMOVE, description);
+    }
+
+    public void recordMark(String description) {
+        recordDescription(OP_MARK, description);
+    }
+
+    public void recordPutRecurring(RecurringTask rule) {
+        try {
+            operation.writeByte(OP_PUT_RECURRING);
+            writeRecurring(operation, rule);
+            operationEffects++;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void recordRemoveRecurring(String description) {
+        recordDescription(OP_REMOVE_RECURRING, description);
+    }
+
+    private void recordDescription(byte op, String description) {
+        try {
+            operation.writeByte(op);
+            operation.writeUTF(description);
+            operationEffects++;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Frames the effects recorded since the last call into one record and queues it for the
+    // committer. Returns its sequence number, or the last one if nothing was recorded.
+    public synchronized long commitOperation() {
+        if (operationEffects == 0) {
+            return lastSeq;
+        }
+        try {
+            long seq = lastSeq + 1;
+            ByteArrayOutputStream bodyBytes = new ByteArrayOutputStream(operationBytes.size() + 12);
+            DataOutputStream body = new DataOutputStream(bodyBytes);
+            body.writeLong(seq);
+            body.writeInt(operationEffects);
+            operationBytes.writeTo(body);
+
+            CRC32 crc = new CRC32();
+            crc.update(bodyBytes.toByteArray());
+            DataOutputStream frame = new DataOutputStream(pending);
+            frame.writeInt(bodyBytes.size());
+            frame.writeInt((int) crc.getValue());
+            bodyBytes.writeTo(frame);
+
+            lastSeq = seq;
+            notifyAll();
+            return seq;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            operationBytes.reset();
+            operationEffects = 0;
+        }
+    }
+
+    public synchronized void awaitDurable(long seq) {
+        boolean interrupted = false;
+        while (durableSeq < seq && failure == null) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        if (durableSeq < seq) {
+            throw new UncheckedIOException("Schedule journal write failed.", failure);
+        }
+    }
+
+    public synchronized long getLastSeq() {
+        return lastSeq;
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            closed = true;
+            notifyAll();
+        }
+        try {
+            committer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        channel.close();
+    }
+
+    private void commitLoop() {
+        while (true) {
+            ByteArrayOutputStream batch;
+            long batchSeq;
+            synchronized (this) {
+                while (pending.size() == 0 && !closed) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                if (pending.size() == 0) {
+                    return;
+                }
+                batch = pending;
+                batchSeq = lastSeq;
+                pending = new ByteArrayOutputStream();
+            }
+
+            try {
+                ByteBuffer buffer = ByteBuffer.wrap(batch.toByteArray());
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(false);
+                synchronized (this) {
+                    durableSeq = batchSeq;
+                    notifyAll();
+                }
+            } catch (IOException e) {
+                synchronized (this) {
+                    failure = e;
+                    notifyAll();
+                }
+                return;
+            }
+        }
+    }
+
+    // Replays the records of one segment with seq > afterSeq. Stops at the first torn or
+    // corrupt record and, if 'repair' is set, truncates the segment there so new records
+    // are appended after the last good one; otherwise the segment must be whole and an
+    // IOException is thrown. Returns the last sequence number read.
+    public static long replay(Path file, long afterSeq, boolean repair, Visitor visitor) throws IOException {
+        long lastSeq = afterSeq;
+        long goodLength = 0;
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = in.size();
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            while (goodLength + HEADER_BYTES <= size) {
+                header.clear();
+                readFully(in, header, goodLength);
+                int length = header.getInt(0);
+                int expectedCrc = header.getInt(4);
+                if (length < 12 || length > MAX_RECORD_BYTES || goodLength + HEADER_BYTES + length > size) {
+                    break;
+                }
+                ByteBuffer body = ByteBuffer.allocate(length);
+                readFully(in, body, goodLength + HEADER_BYTES);
+                CRC32 crc = new CRC32();
+                crc.update(body.array());
+                if ((int) crc.getValue() != expectedCrc) {
+                    break;
+                }
+
+                DataInputStream record = new DataInputStream(new ByteArrayInputStream(body.array()));
+                long seq = record.readLong();
+                int effects = record.readInt();
+                if (seq > afterSeq) {
+                    for (int i = 0; i < effects; i++) {
+                        applyEffect(record, visitor);
+                    }
+                    lastSeq = Math.max(lastSeq, seq);
+                }
+                goodLength += HEADER_BYTES + length;
+            }
+            if (goodLength < size) {
+                if (!repair) {
+                    throw new IOException("Corrupt journal record at byte " + goodLength + " of " + file);
+                }
+                in.truncate(goodLength);
+                in.force(true);
+            }
+        }
+        return lastSeq;
+    }
+
+    private static void applyEffect(DataInput record, Visitor visitor) throws IOException {
+        byte op = record.readByte();
+        switch (op) {
+            case OP_ADD -> visitor.add(readTask(record));
+            case OP_REMOVE -> visitor.remove(record.readUTF());
+            case OP_MARK -> visitor.mark(record.readUTF());
+            case OP_PUT_RECURRING -> visitor.putRecurring(readRecurring(record));
+            case OP_REMOVE_RECURRING -> visitor.removeRecurring(record.readUTF());
+            default -> throw new IOException("Unknown journal operation " + op);
+        }
+    }
+
+    private static void readFully(FileChannel in, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = in.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new EOFException();
+            }
+        }
+    }
+
+    static void writeTask(DataOutput out, Task task) throws IOException {
+        out.writeUTF(task.getDescription());
+        out.writeLong(task.getStartTime().toNanoOfDay());
+        out.writeLong(task.getEndTime().toNanoOfDay());
+        out.writeByte(task.getPriority().ordinal());
+        out.writeBoolean(task.isCompleted());
+    }
+
+    static Task readTask(DataInput in) throws IOException {
+        String description = in.readUTF();
+        LocalTime start = LocalTime.ofNanoOfDay(in.readLong());
+        LocalTime end = LocalTime.ofNanoOfDay(in.readLong());
+        PriorityLevel priority = PriorityLevel.values()[in.readByte()];
+        Task task = new Task(description, start, end, priority);
+        task.setCompleted(in.readBoolean());
+        return task;
+    }
+
+    // The rule and its skipped occurrences, as a bit set
+    static void writeRecurring(DataOutput out, RecurringTask rule) throws IOException {
+        out.writeUTF(rule.getDescription());
+        out.writeLong(rule.getFirstStartNanos());
+        out.writeLong(rule.getDurationNanos());
+        out.writeLong(rule.getIntervalNanos());
+        out.writeInt(rule.getCount());
+        out.writeByte(rule.getPriority().ordinal());
+        long[] skipped = rule.getSkippedWords();
+        out.writeInt(skipped.length);
+        for (long word : skipped) {
+            out.writeLong(word);
+        }
+    }
+
+    static RecurringTask readRecurring(DataInput in) throws IOException {
+        String description = in.readUTF();
+        long firstStart = in.readLong();
+        long duration = in.readLong();
+        long interval = in.readLong();
+        int count = in.readInt();
+        PriorityLevel priority = PriorityLevel.values()[in.readByte()];
+        int words = in.readInt();
+        if (words < 0 || words > count / 64 + 1) {
+            throw new IOException("Corrupt recurring task '" + description + "'");
+        }
+        long[] skipped = new long[words];
+        for (int i = 0; i < words; i++) {
+            skipped[i] = in.readLong();
+        }
+        try {
+            return RecurringTask.restore(description, firstStart, duration, interval, count, priority, skipped);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Corrupt recurring task '" + description + "': " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.astronaut.scheduler;
+
+import java.time.LocalDate;
+import java.util.Locale;
+
+// Identifies one shard of the crew schedule: one astronaut on one day.
+// Astronaut names compare case-insensitively, like task descriptions.
+public class ScheduleKey implements Comparable<ScheduleKey> {
+    private final String astronaut;
+    private final LocalDate date;
+    private final String astronautKey;
+
+    public ScheduleKey(String astronaut, LocalDate date) {
+        this.astronaut = astronaut;
+        this.date = date;
+        this.astronautKey = astronaut.toLowerCase(Locale.ROOT);
+    }
+
+    public String getAstronaut() {
+        return astronaut;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    // By date, then astronaut
+    @Override
+    public int compareTo(ScheduleKey other) {
+        int byDate = date.compareTo(other.date);
+        return byDate != 0 ? byDate : astronautKey.compareTo(other.astronautKey);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ScheduleKey)) {
+            return false;
+        }
+        ScheduleKey other = (ScheduleKey) o;
+        return date.equals(other.date) && astronautKey.equals(other.astronautKey);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * date.hashCode() + astronautKey.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return astronaut + " " + date;
+    }
+}
@@ -0,0 +1,1098 @@
+package com.astronaut.scheduler;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// Thread-safe: writes are serialized on the write lock and point lookups take the read lock.
+// Views read an immutable ScheduleVersion. Changes made under the write lock are published as
+// one new version when it is released, so readers see every change or none of it, take a
+// version with one volatile read, and never block writers.
+// Recurring tasks are kept as rules in the versions only; their occurrences are created for
+// the window being checked or viewed and are never stored.
+public class ScheduleManager {
+    // Descriptions are unique within the schedule, rules included, and neither stored tasks
+    // nor occurrences overlap each other
+    private final TaskStore store;
+    private final List<Observer> observers;
+    private final Lock readLock;
+    private final Lock writeLock;
+    // Changes made under the write lock go here first
+    private ScheduleVersion working = ScheduleVersion.EMPTY;
+    private volatile ScheduleVersion published = ScheduleVersion.EMPTY;
+    // Versions to go back or forward to, newest first; guarded by the write lock
+    private final Deque<ScheduleVersion> undoHistory = new ArrayDeque<>();
+    private final Deque<ScheduleVersion> redoHistory = new ArrayDeque<>();
+    private static final int UNDO_LIMIT = 100;
+    // Never blocks by default, so batch and server runs need no console
+    private volatile ConflictPolicy conflictPolicy = ConflictPolicy.REJECT;
+    // Null while the schedule lives in memory only
+    private volatile SchedulePersistence persistence;
+    private final ScheduleStats stats;
+    // Messages for the user; null means System.out as it is at the time of the call
+    private final PrintStream output;
+    private static final int SNAPSHOT_INTERVAL = 10_000;
+    private static final Logger logger = LoggerManager.getLogger();
+
+    // Package-private so benchmarks can build isolated schedules; the application uses getInstance()
+    ScheduleManager() {
+        this(new IndexedTaskStore());
+    }
+
+    ScheduleManager(TaskStore store) {
+        this(store, new ScheduleStats());
+    }
+
+    // Shards of a CrewSchedule share one ScheduleStats
+    ScheduleManager(TaskStore store, ScheduleStats stats) {
+        this(store, stats, null);
+    }
+
+    ScheduleManager(TaskStore store, ScheduleStats stats, PrintStream output) {
+        this.store = store;
+        this.stats = stats;
+        this.output = output;
+        observers = new CopyOnWriteArrayList<>();
+        ReadWriteLock lock = new ReentrantReadWriteLock();
+        readLock = lock.readLock();
+        writeLock = lock.writeLock();
+    }
+
+    // Lazily initialized on first use without locking on every call
+    private static class InstanceHolder {
+        private static final ScheduleManager INSTANCE = new ScheduleManager(createConfiguredStore());
+    }
+
+    // -Dscheduler.storage=compact keeps tasks in primitive arrays; times are then limited to whole minutes
+    static TaskStore createConfiguredStore() {
+        if ("compact".equalsIgnoreCase(System.getProperty("scheduler.storage"))) {
+            return new CompactTaskStore();
+        }
+        return new IndexedTaskStore();
+    }
+
+    public static ScheduleManager getInstance() {
+        return InstanceHolder.INSTANCE;
+    }
+
+    // Operation latencies and conflict counters, also shown by the stats command and over JMX
+    public ScheduleStats getStats() {
+        return stats;
+    }
+
+    public void addObserver(Observer observer) {
+        observers.add(observer);
+    }
+
+    // With async = true the observer is notified from its own queue on a background
+    // thread, so a slow observer cannot hold up schedule changes.
+    public void addObserver(Observer observer, boolean async) {
+        addObserver(async ? new AsyncObserver(observer) : observer);
+    }
+
+    // The methods without a PrintStream argument print here. Those with one print there
+    // instead, so callers such as ScheduleServer can send each user their own output.
+    private PrintStream console() {
+        return output != null ? output : System.out;
+    }
+
+    private void notifyObservers(String message) {
+        for (Observer observer : observers) {
+            observer.update(message);
+        }
+    }
+
+    // Decides conflicts the new task could override; see ConflictPolicy
+    public void setConflictPolicy(ConflictPolicy conflictPolicy) {
+        this.conflictPolicy = conflictPolicy;
+    }
+
+    public void addTask(Task newTask) {
+        addTask(newTask, conflictPolicy, console());
+    }
+
+    public void addTask(Task newTask, PrintStream out) {
+        addTask(newTask, conflictPolicy, out);
+    }
+
+    // Uses the given policy instead of the configured one for this task only
+    public void addTask(Task newTask, ConflictPolicy policy) {
+        addTask(newTask, policy, console());
+    }
+
+    // The policy is asked after the write lock is released, since it may wait for the user;
+    // the override is then applied under the lock again if the schedule still allows it
+    public void addTask(Task newTask, ConflictPolicy policy, PrintStream out) {
+        long startNanos = System.nanoTime();
+        try {
+            List<Task> overridable = new ArrayList<>();
+            writeLock.lock();
+            try {
+                addTaskLocked(newTask, overridable, out);
+            } finally {
+                unlockWrite();
+            }
+            if (overridable.isEmpty() || !askPolicy(policy, newTask, overridable, out)) {
+                return;
+            }
+            writeLock.lock();
+            try {
+                overrideLocked(newTask, overridable, out);
+            } finally {
+                unlockWrite();
+            }
+        } finally {
+            stats.record(ScheduleStats.Operation.ADD, startNanos);
+        }
+    }
+
+    // Returns true if the new task ended up in the schedule. If it was not added only because
+    // it outranks every task in its way, those tasks are put in 'overridable' and nothing is
+    // printed: the caller asks the conflict policy outside the lock and calls overrideLocked.
+    private boolean addTaskLocked(Task newTask, List<Task> overridable, PrintStream out) {
+        if (isDescriptionTaken(newTask.getDescription())) {
+            out.println("Error: A task with this description already exists.");
+            logger.log(Level.WARNING, "Failed to add task '{0}': Duplicate description.", newTask.getDescription());
+            return false;
+        }
+        if (!store.supports(newTask)) {
+            out.println("Error: This schedule only stores times in whole minutes.");
+            logger.log(Level.WARNING, "Failed to add task '{0}': Unsupported time.", newTask.getDescription());
+            return false;
+        }
+
+        if (!overlapsAny(newTask.getStartTime(), newTask.getEndTime())) {
+            storeTask(newTask);
+            out.println("Task added successfully. No conflicts.");
+            logger.log(Level.INFO, "Task '{0}' added successfully.", newTask.getDescription());
+            return true;
+        }
+
+        // Identify conflicting tasks
+        stats.conflictFound();
+        List<Task> conflictingTasks = findOverlapping(working, newTask.getStartTime(), newTask.getEndTime());
+
+        boolean canOverride = true;
+        for (Task t : conflictingTasks) {
+            if (!newTask.getPriority().isHigherThan(t.getPriority())) {
+                // New task has lower or equal priority
+                canOverride = false;
+                break;
+            }
+        }
+
+        if (canOverride) {
+            overridable.addAll(conflictingTasks);
+        } else {
+            // New task has lower or equal priority
+            String conflictMessage = "Error: Task conflicts with existing tasks of equal or higher priority.";
+            stats.conflictRejected();
+            notifyObservers(conflictMessage);
+            out.println("Task not added.");
+            logger.log(Level.WARNING, "Failed to add task '{0}': {1}", new Object[]{newTask.getDescription(), conflictMessage});
+        }
+        return false;
+    }
+
+    // Called without the lock. Returns true if the policy chose to override; a rejection or
+    // a queued task is reported here.
+    private boolean askPolicy(ConflictPolicy policy, Task newTask, List<Task> conflictingTasks, PrintStream out) {
+        switch (policy.resolve(newTask, Collections.unmodifiableList(conflictingTasks))) {
+            case OVERRIDE -> {
+                return true;
+            }
+            case QUEUE -> {
+                stats.conflictQueued();
+                out.println("Task conflicts with existing tasks and was queued for review.");
+                logger.log(Level.INFO, "Task '{0}' queued for review.", newTask.getDescription());
+                return false;
+            }
+            default -> {
+                stats.conflictRejected();
+                out.println("Task not added.");
+                logger.log(Level.INFO, "Task '{0}' not added by conflict policy.", newTask.getDescription());
+                return false;
+            }
+        }
+    }
+
+    // Overrides the tasks the policy agreed to, if they are still exactly the tasks in the new
+    // task's way and its description is still free; a writer may have changed the schedule
+    // while the policy decided. Returns true if the new task ended up in the schedule.
+    private boolean overrideLocked(Task newTask, List<Task> conflictingTasks, PrintStream out) {
+        if (isDescriptionTaken(newTask.getDescription())
+                || !sameTasks(conflictingTasks, findOverlapping(working, newTask.getStartTime(), newTask.getEndTime()))) {
+            stats.conflictRejected();
+            out.println("Error: The schedule changed while the conflict was being decided. Task not added.");
+            logger.log(Level.WARNING, "Failed to add task '{0}': Schedule changed before the override.", newTask.getDescription());
+            return false;
+        }
+        // Remove conflicting tasks; overridden occurrences are skipped instead
+        for (Task t : store.findOverlapping(newTask.getStartTime(), newTask.getEndTime())) {
+            unstoreTask(t);
+        }
+        for (RecurringTask rule : working.getRecurringTasks()) {
+            if (rule.overlaps(newTask.getStartTime(), newTask.getEndTime())) {
+                putRecurring(rule.withSkippedBetween(newTask.getStartTime(), newTask.getEndTime()));
+            }
+        }
+        storeTask(newTask);
+        stats.conflictOverridden();
+        out.println("Existing tasks overridden. New task added.");
+        logger.log(Level.INFO, "Task '{0}' added, overriding existing tasks.", newTask.getDescription());
+        return true;
+    }
+
+    // Stores may return copies, and occurrences are created on each lookup, so tasks are
+    // compared by content
+    private static boolean sameTasks(List<Task> a, List<Task> b) {
+        if (a.size() != b.size()) {
+            return false;
+        }
+        for (int i = 0; i < a.size(); i++) {
+            if (!sameTask(a.get(i), b.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean sameTask(Task a, Task b) {
+        return a.getDescription().equals(b.getDescription()) && a.getStartTime().equals(b.getStartTime())
+                && a.getEndTime().equals(b.getEndTime()) && a.getPriority() == b.getPriority()
+                && a.isCompleted() == b.isCompleted();
+    }
+
+    // Adds the task at its own time if that is free, otherwise moves it, keeping its duration,
+    // to the earliest free gap at or after its start, or failing that the earliest gap of the day.
+    // Never overrides anything. Returns the task as scheduled, or null if it was not added.
+    public Task autoPlaceTask(Task newTask) {
+        return autoPlaceTask(newTask, console());
+    }
+
+    public Task autoPlaceTask(Task newTask, PrintStream out) {
+        long startNanos = System.nanoTime();
+        writeLock.lock();
+        try {
+            if (isDescriptionTaken(newTask.getDescription()) || !store.supports(newTask)
+                    || !overlapsAny(newTask.getStartTime(), newTask.getEndTime())) {
+                return addTaskLocked(newTask, new ArrayList<>(), out) ? newTask : null;
+            }
+
+            Duration duration = Duration.between(newTask.getStartTime(), newTask.getEndTime());
+            // Every task counts as busy, so nothing gets displaced
+            PriorityLevel lowest = PriorityLevel.LOW;
+            List<TimeSlot> slots = findFreeSlots(working, newTask.getStartTime(), LocalTime.MAX, duration, lowest, 1);
+            if (slots.isEmpty()) {
+                slots = findFreeSlots(working, LocalTime.MIN, LocalTime.MAX, duration, lowest, 1);
+            }
+            if (slots.isEmpty()) {
+                out.println("Error: No free time slot is long enough for this task.");
+                logger.log(Level.WARNING, "Failed to auto-place task '{0}': No free slot.", newTask.getDescription());
+                return null;
+            }
+
+            LocalTime start = slots.get(0).getStartTime();
+            Task placedTask = new Task(newTask.getDescription(), start, start.plus(duration), newTask.getPriority());
+            storeTask(placedTask);
+            out.println("Task added at " + start + " - " + placedTask.getEndTime() + " to avoid conflicts.");
+            logger.log(Level.INFO, "Task '{0}' auto-placed at {1}.", new Object[]{placedTask.getDescription(), start});
+            return placedTask;
+        } finally {
+            unlockWrite();
+            stats.record(ScheduleStats.Operation.AUTO_PLACE, startNanos);
+        }
+    }
+
+    // Free gaps in the window long enough for a task of the given duration, earliest first.
+    // Time held only by tasks of lower priority than 'priority' counts as free, since a task
+    // of that priority may override them; pass LOW to treat every task as busy.
+    public List<TimeSlot> findFreeSlots(Duration duration, TimeSlot window, PriorityLevel priority) {
+        return findFreeSlots(duration, window, priority, Integer.MAX_VALUE);
+    }
+
+    // As above, stopping after 'limit' gaps; the cost depends on the tasks walked, not the schedule size
+    public List<TimeSlot> findFreeSlots(Duration duration, TimeSlot window, PriorityLevel priority, int limit) {
+        if (duration.isNegative() || duration.isZero() || limit <= 0) {
+            throw new IllegalArgumentException("Duration and limit must be positive.");
+        }
+        long startNanos = System.nanoTime();
+        readLock.lock();
+        try {
+            return findFreeSlots(published, window.getStartTime(), window.getEndTime(), duration, priority, limit);
+        } finally {
+            readLock.unlock();
+            stats.record(ScheduleStats.Operation.FIND_FREE_SLOTS, startNanos);
+        }
+    }
+
+    // The store's free slots with the occurrences of blocking rules cut out. Cutting can leave
+    // a slot too short, so the store is asked again from where the last batch ended until
+    // there are enough slots or the window is used up.
+    private List<TimeSlot> findFreeSlots(ScheduleVersion version, LocalTime from, LocalTime to, Duration duration,
+                                         PriorityLevel priority, int limit) {
+        List<RecurringTask> blocking = new ArrayList<>();
+        for (RecurringTask rule : version.getRecurringTasks()) {
+            if (!priority.isHigherThan(rule.getPriority())) {
+                blocking.add(rule);
+            }
+        }
+        if (blocking.isEmpty()) {
+            return store.findFreeSlots(from, to, duration, priority, limit);
+        }
+
+        List<TimeSlot> slots = new ArrayList<>();
+        LocalTime cursor = from;
+        while (slots.size() < limit && cursor.isBefore(to)) {
+            List<TimeSlot> batch = store.findFreeSlots(cursor, to, duration, priority, limit - slots.size());
+            if (batch.isEmpty()) {
+                break;
+            }
+            for (TimeSlot slot : batch) {
+                List<Task> occurrences = new ArrayList<>();
+                for (RecurringTask rule : blocking) {
+                    occurrences.addAll(rule.occurrencesBetween(slot.getStartTime(), slot.getEndTime()));
+                }
+                occurrences.sort(Comparator.comparing(Task::getStartTime));
+                LocalTime gapStart = slot.getStartTime();
+                for (Task occurrence : occurrences) {
+                    addSlotIfLongEnough(slots, gapStart, occurrence.getStartTime(), duration);
+                    if (occurrence.getEndTime().isAfter(gapStart)) {
+                        gapStart = occurrence.getEndTime();
+                    }
+                }
+                addSlotIfLongEnough(slots, gapStart, slot.getEndTime(), duration);
+            }
+            cursor = batch.get(batch.size() - 1).getEndTime();
+        }
+        return slots.size() > limit ? slots.subList(0, limit) : slots;
+    }
+
+    private static void addSlotIfLongEnough(List<TimeSlot> slots, LocalTime start, LocalTime end, Duration duration) {
+        if (end.isAfter(start) && Duration.between(start, end).compareTo(duration) >= 0) {
+            slots.add(new TimeSlot(start, end));
+        }
+    }
+
+    // Non-interactive bulk insert under a single lock hold. Each task is checked against the
+    // schedule and the tasks accepted before it through the interval index, and is rejected
+    // (never overridden) on a duplicate description or any conflict.
+    // Returns the rejected tasks mapped to the reason, in input order.
+    public Map<Task, String> addTasks(List<Task> newTasks) {
+        Map<Task, String> rejected = new LinkedHashMap<>();
+        long startNanos = System.nanoTime();
+        writeLock.lock();
+        try {
+            for (Task newTask : newTasks) {
+                if (isDescriptionTaken(newTask.getDescription())) {
+                    rejected.put(newTask, "Duplicate description.");
+                    continue;
+                }
+                if (!store.supports(newTask)) {
+                    rejected.put(newTask, "Times must be whole minutes.");
+                    continue;
+                }
+                if (overlapsAny(newTask.getStartTime(), newTask.getEndTime())) {
+                    stats.conflictFound();
+                    stats.conflictRejected();
+                    Task conflict = findOverlapping(working, newTask.getStartTime(), newTask.getEndTime()).get(0);
+                    rejected.put(newTask, "Conflicts with existing task '" + conflict.getDescription() + "'.");
+                    continue;
+                }
+                storeTask(newTask);
+            }
+        } finally {
+            unlockWrite();
+            stats.record(ScheduleStats.Operation.BULK_ADD, startNanos);
+        }
+        logger.log(Level.INFO, "Bulk added {0} tasks, rejected {1}.", new Object[]{newTasks.size() - rejected.size(), rejected.size()});
+        return rejected;
+    }
+
+    // Batch planning: adds the subset of the candidates with the largest total priority weight
+    // that fits the schedule, whatever their order (see ScheduleOptimizer). Like addTasks it
+    // never overrides: candidates with a duplicate description or a conflict with the schedule
+    // as it stands are dropped first, and the optimizer chooses among the rest. Returns the
+    // tasks added and every dropped candidate with the reason.
+    public PlanReport planTasks(List<Task> candidates) {
+        long startNanos = System.nanoTime();
+        writeLock.lock();
+        try {
+            Map<Task, String> rejected = new HashMap<>();
+            Set<String> descriptions = new HashSet<>();
+            List<Task> eligible = new ArrayList<>(candidates.size());
+            for (Task candidate : candidates) {
+                String reason = null;
+                if (isDescriptionTaken(candidate.getDescription())
+                        || !descriptions.add(candidate.getDescription().toLowerCase(Locale.ROOT))) {
+                    reason = "Duplicate description.";
+                } else if (!store.supports(candidate)) {
+                    reason = "Times must be whole minutes.";
+                } else if (overlapsAny(candidate.getStartTime(), candidate.getEndTime())) {
+                    Task conflict = findOverlapping(working, candidate.getStartTime(), candidate.getEndTime()).get(0);
+                    reason = "Conflicts with existing task '" + conflict.getDescription() + "'.";
+                }
+                if (reason != null) {
+                    rejected.put(candidate, reason);
+                } else {
+                    eligible.add(candidate);
+                }
+            }
+
+            PlanReport plan = ScheduleOptimizer.optimize(eligible);
+            for (Task task : plan.getPlanned()) {
+                storeTask(task);
+            }
+            Map<Task, String> dropped = new LinkedHashMap<>();
+            for (Task candidate : candidates) {
+                String reason = rejected.get(candidate);
+                if (reason == null) {
+                    reason = plan.getDropped().get(candidate);
+                }
+                if (reason != null) {
+                    dropped.put(candidate, reason);
+                }
+            }
+            PlanReport report = new PlanReport(plan.getPlanned(), dropped, plan.getTotalWeight());
+            logger.log(Level.INFO, "Planned tasks: {0}.", report);
+            return report;
+        } finally {
+            unlockWrite();
+            stats.record(ScheduleStats.Operation.PLAN, startNanos);
+        }
+    }
+
+    // Adds a recurring task. Occurrences that would conflict with a scheduled task or another
+    // recurring task are skipped; nothing already in the schedule is overridden. Stored tasks
+    // are found through the store's index, but every other rule's occurrences within the new
+    // rule's span are expanded and checked, O(rules x occurrences); a day holds few rules.
+    // Returns false if the rule was not added.
+    public boolean addRecurringTask(RecurringTask rule) {
+        return addRecurringTask(rule, console());
+    }
+
+    public boolean addRecurringTask(RecurringTask rule, PrintStream out) {
+        long startNanos = System.nanoTime();
+        writeLock.lock();
+        try {
+            if (isDescriptionTaken(rule.getDescription())) {
+                out.println("Error: A task with this description already exists.");
+                logger.log(Level.WARNING, "Failed to add recurring task '{0}': Duplicate description.", rule.getDescription());
+                return false;
+            }
+
+            LocalTime first = rule.getFirstStart();
+            LocalTime last = rule.getLastStart().plus(rule.getDuration());
+            RecurringTask added = rule;
+            for (Task t : store.findOverlapping(first, last)) {
+                added = added.withSkippedBetween(t.getStartTime(), t.getEndTime());
+            }
+            for (RecurringTask other : working.getRecurringTasks()) {
+                for (Task occurrence : other.occurrencesBetween(first, last)) {
+                    added = added.withSkippedBetween(occurrence.getStartTime(), occurrence.getEndTime());
+                }
+            }
+            int skipped = added.getSkippedCount() - rule.getSkippedCount();
+            if (skipped > 0) {
+                stats.conflictFound();
+            }
+            if (added.getSkippedCount() == added.getCount()) {
+                stats.conflictRejected();
+                out.println("Error: Every occurrence conflicts with existing tasks. Recurring task not added.");
+                logger.log(Level.WARNING, "Failed to add recurring task '{0}': No free occurrence.", rule.getDescription());
+                return false;
+            }
+
+            putRecurring(added);
+            out.println("Recurring task added: " + (added.getCount() - added.getSkippedCount()) + " occurrences, "
+                    + skipped + " skipped because of conflicts.");
+            logger.log(Level.INFO, "Recurring task '{0}' added, {1} occurrences skipped.", new Object[]{rule.getDescription(), skipped});
+            return true;
+        } finally {
+            unlockWrite();
+            stats.record(ScheduleStats.Operation.ADD_RECURRING, startNanos);
+        }
+    }
+
+    // Cancels the occurrence of a recurring task starting at 'start'; the others are kept
+    public boolean skipOccurrence(String description, LocalTime start) {
+        return skipOccurrence(description, start, console());
+    }
+
+    public boolean skipOccurrence(String description, LocalTime start, PrintStream out) {
+        long startNanos = System.nanoTime();
+        writeLock.lock();
+        try {
+            RecurringTask rule = working.getRecurringTask(description);
+            if (rule == null) {
+                out.println("Error: Recurring task not found.");
+                logger.log(Level.WARNING, "Failed to skip occurrence of task '{0}': Recurring task not found.", description);
+                return false;
+            }
+            int index = rule.indexOf(start);
+            if (index < 0 || rule.isSkipped(index)) {
+                out.println("Error: '" + description + "' has no occurrence at " + start + ".");
+                logger.log(Level.WARNING, "Failed to skip occurrence of task '{0}' at {1}: No occurrence.", new Object[]{description, start});
+                return false;
+            }
+            putRecurring(rule.withSkipped(index));
+            out.println("Occurrence at " + start + " skipped.");
+            logger.log(Level.INFO, "Occurrence of task '{0}' at {1} skipped.", new Object[]{description, start});
+            return true;
+        } finally {
+            unlockWrite();
+            stats.record(ScheduleStats.Operation.SKIP, startNanos);
+        }
+    }
+
+    private void storeTask(Task task) {
+        store.add(task);
+        working = working.with(task);
+        if (persistence != null) {
+            persistence.recordAdd(task);
+        }
+    }
+
+    private void unstoreTask(Task task) {
+        store.remove(task.getDescription());
+        working = working.without(task);
+        if (persistence != null) {
+            persistence.recordRemove(task.getDescription());
+        }
+    }
+
+    private void markStoredTask(Task task) {
+        store.markCompleted(task.getDescription());
+        working = working.with(store.get(task.getDescription()));
+        if (persistence != null) {
+            persistence.recordMark(task.getDescription());
+        }
+    }
+
+    // Adds the rule or replaces the one with the same description
+    private void putRecurring(RecurringTask rule) {
+        working = working.withRecurring(rule);
+        if (persistence != null) {
+            persistence.recordPutRecurring(rule);
+        }
+    }
+
+    private void removeRecurring(String description) {
+        working = working.withoutRecurring(description);
+        if (persistence != null) {
+            persistence.recordRemoveRecurring(description);
+        }
+    }
+
+    private boolean isDescriptionTaken(String description) {
+        return store.get(description) != null || working.getRecurringTask(description) != null;
+    }
+
+    // Stored tasks and occurrences; a day holds few rules, and each is checked in O(1)
+    private boolean overlapsAny(LocalTime start, LocalTime end) {
+        if (store.overlapsAny(start, end)) {
+            return true;
+        }
+        for (RecurringTask rule : working.getRecurringTasks()) {
+            if (rule.overlaps(start, end)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Stored tasks and occurrences of the version's rules overlapping [start, end), in start-time order.
+    // The store must be in step with 'version': the working one under the write lock, the published
+    // one under the read lock.
+    private List<Task> findOverlapping(ScheduleVersion version, LocalTime start, LocalTime end) {
+        List<Task> overlapping = store.findOverlapping(start, end);
+        if (version.getRecurringTasks().isEmpty()) {
+            return overlapping;
+        }
+        List<Task> all = new ArrayList<>(overlapping);
+        for (RecurringTask rule : version.getRecurringTasks()) {
+            all.addAll(rule.occurrencesBetween(start, end));
+        }
+        all.sort(Comparator.comparing(Task::getStartTime));
+        return all;
+    }
+
+    // Releases the write lock. With persistence enabled the changes made under the lock are
+    // first journaled as one record, and the caller then waits, outside the lock, until that
+    // record is on disk; concurrent writers waiting together share one fsync.
+    private void unlockWrite() {
+        SchedulePersistence journal = persistence;
+        long seq = 0;
+        try {
+            if (journal != null) {
+                seq = journal.commit(store::getTasks, working::getRecurringTasks);
+            }
+        } finally {
+            publish();
+            writeLock.unlock();
+        }
+        if (journal != null) {
+            journal.awaitDurable(seq);
+        }
+    }
+
+    // Makes the changes made under the write lock visible as one new version and remembers
+    // the previous version for undo
+    private void publish() {
+        ScheduleVersion previous = published;
+        if (working == previous) {
+            return;
+        }
+        undoHistory.push(previous);
+        if (undoHistory.size() > UNDO_LIMIT) {
+            undoHistory.removeLast();
+        }
+        redoHistory.clear();
+        working = working.numbered(previous.getNumber() + 1);
+        published = working;
+    }
+
+    // Puts the schedule back as it was before the latest change: an add (including any tasks
+    // it overrode), edit, removal, mark, move or import. The last 100 changes can be undone.
+    // Returns what the undo changed, empty if there was nothing to undo.
+    public List<TaskChange> undo() {
+        return undo(console());
+    }
+
+    public List<TaskChange> undo(PrintStream out) {
+        return restoreVersion(undoHistory, redoHistory, "undo", out);
+    }
+
+    // Reapplies the latest undone change, until a new change is made
+    public List<TaskChange> redo() {
+        return redo(console());
+    }
+
+    public List<TaskChange> redo(PrintStream out) {
+        return restoreVersion(redoHistory, undoHistory, "redo", out);
+    }
+
+    // Only the tasks that differ are touched, so the store and journal see a few changes
+    // and the restored version keeps sharing structure with the one it came from
+    private List<TaskChange> restoreVersion(Deque<ScheduleVersion> from, Deque<ScheduleVersion> to, String action,
+                                            PrintStream out) {
+        writeLock.lock();
+        try {
+            ScheduleVersion target = from.poll();
+            if (target == null) {
+                out.println("Nothing to " + action + ".");
+                return List.of();
+            }
+            ScheduleVersion current = published;
+            List<TaskChange> changes = current.diff(target);
+            // Removals first, so stored tasks never overlap
+            for (TaskChange change : changes) {
+                if (change.getBefore() != null) {
+                    unstoreTask(change.getBefore());
+                }
+            }
+            for (TaskChange change : changes) {
+                if (change.getAfter() != null) {
+                    storeTask(change.getAfter());
+                }
+            }
+            List<String> ruleChanges = restoreRecurring(current, target);
+            to.push(current);
+            working = target.numbered(current.getNumber() + 1);
+            published = working;
+
+            out.println(action.substring(0, 1).toUpperCase() + action.substring(1) + " done:");
+            for (TaskChange change : changes) {
+                out.println(change);
+            }
+            for (String ruleChange : ruleChanges) {
+                out.println(ruleChange);
+            }
+            logger.log(Level.INFO, "Schedule {0}: {1} tasks changed.", new Object[]{action, changes.size() + ruleChanges.size()});
+            return changes;
+        } finally {
+            unlockWrite();
+        }
+    }
+
+    // Journals the rules that differ between the versions; 'working' takes the target's rules
+    // as a whole afterwards. Rules are immutable and versions share them, so an unchanged rule
+    // is the same object in both. Returns the changes in the same +/- notation as TaskChange.
+    private List<String> restoreRecurring(ScheduleVersion current, ScheduleVersion target) {
+        List<String> ruleChanges = new ArrayList<>();
+        for (RecurringTask rule : current.getRecurringTasks()) {
+            if (!target.getRecurringTasks().contains(rule)) {
+                removeRecurring(rule.getDescription());
+                ruleChanges.add("- " + rule);
+            }
+        }
+        for (RecurringTask rule : target.getRecurringTasks()) {
+            if (!current.getRecurringTasks().contains(rule)) {
+                putRecurring(rule);
+                ruleChanges.add("+ " + rule);
+            }
+        }
+        return ruleChanges;
+    }
+
+    // Loads the schedule saved in 'directory' (latest snapshot plus journal tail) and
+    // journals every later change there. Must be called before any task is added.
+    public void enablePersistence(Path directory) throws IOException {
+        enablePersistence(directory, SNAPSHOT_INTERVAL);
+    }
+
+    void enablePersistence(Path directory, int snapshotInterval) throws IOException {
+        writeLock.lock();
+        try {
+            if (persistence != null || store.size() != 0 || !working.getRecurringTasks().isEmpty()) {
+                throw new IllegalStateException("Persistence must be enabled once, on an empty schedule.");
+            }
+            persistence = SchedulePersistence.open(directory, snapshotInterval, new ScheduleJournal.Visitor() {
+                @Override
+                public void add(Task task) {
+                    Task existing = store.get(task.getDescription());
+                    if (existing != null) {
+                        unstoreTask(existing);
+                    }
+                    storeTask(task);
+                }
+
+                @Override
+                public void remove(String description) {
+                    Task existing = store.get(description);
+                    if (existing != null) {
+                        unstoreTask(existing);
+                    }
+                }
+
+                @Override
+                public void mark(String description) {
+                    Task existing = store.get(description);
+                    if (existing != null) {
+                        markStoredTask(existing);
+                    }
+                }
+
+                @Override
+                public void putRecurring(RecurringTask rule) {
+                    ScheduleManager.this.putRecurring(rule);
+                }
+
+                @Override
+                public void removeRecurring(String description) {
+                    ScheduleManager.this.removeRecurring(description);
+                }
+            });
+            logger.log(Level.INFO, "Schedule restored from '{0}': {1} tasks, {2} recurring tasks.",
+                    new Object[]{directory, store.size(), working.getRecurringTasks().size()});
+        } finally {
+            // The restored schedule is published as is; there is nothing to undo before it
+            working = working.numbered(published.getNumber() + 1);
+            published = working;
+            writeLock.unlock();
+        }
+    }
+
+    // Flushes and closes the journal; the schedule keeps working in memory only
+    public void closePersistence() throws IOException {
+        writeLock.lock();
+        try {
+            if (persistence != null) {
+                persistence.close();
+                persistence = null;
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void removeTask(String description) {
+        removeTask(description, console());
+    }
+
+    public void removeTask(String description, PrintStream out) {
+        long startNanos = System.nanoTime();
+        writeLock.lock();
+        try {
+            Task taskToRemove = store.get(description);
+            if (taskToRemove != null) {
+                unstoreTask(taskToRemove);
+                out.println("Task removed successfully.");
+                logger.log(Level.INFO, "Task '{0}' removed successfully.", description);
+            } else if (working.getRecurringTask(description) != null) {
+                removeRecurring(description);
+                out.println("Recurring task removed with all its occurrences.");
+                logger.log(Level.INFO, "Recurring task '{0}' removed.", description);
+            } else {
+                out.println("Error: Task not found.");
+                logger.log(Level.WARNING, "Failed to remove task '{0}': Task not found.", description);
+            }
+        } finally {
+            unlockWrite();
+            stats.record(ScheduleStats.Operation.REMOVE, startNanos);
+        }
+    }
+
+    // Atomic with respect to other writers and to view snapshots; a rejected
+    // replacement puts the old task back. As in addTask the conflict policy is asked outside
+    // the lock, and an override then only goes ahead if the old task is still unchanged.
+    public void editTask(String oldDescription, Task newTask) {
+        editTask(oldDescription, newTask, console());
+    }
+
+    public void editTask(String oldDescription, Task newTask, PrintStream out) {
+        long startNanos = System.nanoTime();
+        try {
+            List<Task> overridable = new ArrayList<>();
+            Task oldTask;
+            writeLock.lock();
+            try {
+                oldTask = store.get(oldDescription);
+                if (oldTask == null) {
+                    printNotFound(oldDescription, "edit", out);
+                    return;
+                }
+
+                ScheduleVersion before = working;
+                unstoreTask(oldTask);
+                if (addTaskLocked(newTask, overridable, out)) {
+                    logger.log(Level.INFO, "Task '{0}' edited.", oldDescription);
+                    return;
+                }
+                storeTask(oldTask);
+                // Same tasks as before, so nothing new is published
+                working = before;
+            } finally {
+                unlockWrite();
+            }
+            if (overridable.isEmpty() || !askPolicy(conflictPolicy, newTask, overridable, out)) {
+                printNotEdited(oldDescription, out);
+                return;
+            }
+
+            writeLock.lock();
+            try {
+                Task currentTask = store.get(oldDescription);
+                if (currentTask != null && sameTask(currentTask, oldTask)) {
+                    ScheduleVersion before = working;
+                    unstoreTask(currentTask);
+                    if (overrideLocked(newTask, overridable, out)) {
+                        logger.log(Level.INFO, "Task '{0}' edited.", oldDescription);
+                        return;
+                    }
+                    storeTask(currentTask);
+                    working = before;
+                } else {
+                    out.println("Error: The schedule changed while the conflict was being decided.");
+                }
+                printNotEdited(oldDescription, out);
+            } finally {
+                unlockWrite();
+            }
+        } finally {
+            stats.record(ScheduleStats.Operation.EDIT, startNanos);
+        }
+    }
+
+    private static void printNotEdited(String oldDescription, PrintStream out) {
+        out.println("Task not edited. The original task was kept.");
+        logger.log(Level.WARNING, "Failed to edit task '{0}': Original task kept.", oldDescription);
+    }
+
+    // Moves a task to a new start time, keeping its duration. Non-interactive: the move is
+    // refused if the new time conflicts with any other task. Returns the moved task, or null.
+    public Task rescheduleTask(String description, LocalTime newStart) {
+        return rescheduleTask(description, newStart, console());
+    }
+
+    public Task rescheduleTask(String description, LocalTime newStart, PrintStream out) {
+        long startNanos = System.nanoTime();
+        writeLock.lock();
+        try {
+            Task oldTask = store.get(description);
+            if (oldTask == null) {
+                printNotFound(description, "reschedule", out);
+                return null;
+            }
+            LocalTime newEnd = newStart.plus(Duration.between(oldTask.getStartTime(), oldTask.getEndTime()));
+            Task movedTask = new Task(oldTask.getDescription(), newStart, newEnd, oldTask.getPriority());
+            movedTask.setCompleted(oldTask.isCompleted());
+
+            if (!newEnd.isAfter(newStart) || !store.supports(movedTask) || conflictsWithOthers(movedTask)) {
+                out.println("Error: Task cannot be moved to " + newStart + ". The original task was kept.");
+                logger.log(Level.WARNING, "Failed to reschedule task '{0}' to {1}.", new Object[]{description, newStart});
+                return null;
+            }
+            unstoreTask(oldTask);
+            storeTask(movedTask);
+            out.println("Task rescheduled.");
+            logger.log(Level.INFO, "Task '{0}' rescheduled to {1}.", new Object[]{description, newStart});
+            return movedTask;
+        } finally {
+            unlockWrite();
+            stats.record(ScheduleStats.Operation.RESCHEDULE, startNanos);
+        }
+    }
+
+    // Edit, reschedule and mark work on one-off tasks; a rule is changed by removing and re-adding it
+    private void printNotFound(String description, String action, PrintStream out) {
+        if (working.getRecurringTask(description) != null) {
+            out.println("Error: '" + description + "' is a recurring task. Use skip for one occurrence, or remove and add it again.");
+            logger.log(Level.WARNING, "Failed to {1} task '{0}': Recurring task.", new Object[]{description, action});
+        } else {
+            out.println("Error: Task not found.");
+            logger.log(Level.WARNING, "Failed to {1} task '{0}': Task not found.", new Object[]{description, action});
+        }
+    }
+
+    // True if the task overlaps a stored task other than the one with its own description, or an occurrence
+    private boolean conflictsWithOthers(Task task) {
+        for (Task t : store.findOverlapping(task.getStartTime(), task.getEndTime())) {
+            if (!t.getDescription().equalsIgnoreCase(task.getDescription())) {
+                return true;
+            }
+        }
+        for (RecurringTask rule : working.getRecurringTasks()) {
+            if (rule.overlaps(task.getStartTime(), task.getEndTime())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Scheduled tasks and occurrences that overlap the given task, in start-time order
+    public List<Task> findConflicts(Task task) {
+        readLock.lock();
+        try {
+            return findOverlapping(published, task.getStartTime(), task.getEndTime());
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    public void markTaskAsCompleted(String description) {
+        markTaskAsCompleted(description, console());
+    }
+
+    public void markTaskAsCompleted(String description, PrintStream out) {
+        long startNanos = System.nanoTime();
+        writeLock.lock();
+        try {
+            Task task = store.get(description);
+            if (task != null) {
+                markStoredTask(task);
+                out.println("Task marked as completed.");
+                logger.log(Level.INFO, "Task '{0}' marked as completed.", description);
+                return;
+            }
+            printNotFound(description, "mark", out);
+        } finally {
+            unlockWrite();
+            stats.record(ScheduleStats.Operation.MARK, startNanos);
+        }
+    }
+
+    // Null if no task has this description. The result may be a copy, so change
+    // tasks through this class rather than through the returned object.
+    public Task getTask(String description) {
+        readLock.lock();
+        try {
+            return store.get(description);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    // The latest published version; it never changes, so several reads of it are consistent
+    // with each other. Compare two versions with ScheduleVersion.diff.
+    public ScheduleVersion getVersion() {
+        return published;
+    }
+
+    // Tasks in start-time order, as of the latest completed change
+    public List<Task> getTasks() {
+        return published.getTasks();
+    }
+
+    public List<Task> getTasksByPriority(PriorityLevel priority) {
+        return published.getTasksByPriority(priority);
+    }
+
+    // The view methods are timed including printing, as the user sees them
+    public void viewTasks() {
+        viewTasks(console());
+    }
+
+    public void viewTasks(PrintStream out) {
+        long startNanos = System.nanoTime();
+        List<Task> sortedTasks = getTasks();
+        if (sortedTasks.isEmpty()) {
+            out.println("No tasks scheduled for the day.");
+        } else {
+            printTasks(sortedTasks, out);
+        }
+        stats.record(ScheduleStats.Operation.VIEW, startNanos);
+    }
+
+    public void viewTasksByPriority(PriorityLevel priority) {
+        viewTasksByPriority(priority, console());
+    }
+
+    public void viewTasksByPriority(PriorityLevel priority, PrintStream out) {
+        long startNanos = System.nanoTime();
+        List<Task> filteredTasks = getTasksByPriority(priority);
+        if (filteredTasks.isEmpty()) {
+            out.println("No tasks with priority " + priority);
+        } else {
+            printTasks(filteredTasks, out);
+        }
+        stats.record(ScheduleStats.Operation.VIEW_PRIORITY, startNanos);
+    }
+
+    public void viewTasksBetween(LocalTime from, LocalTime to) {
+        viewTasksBetween(from, to, console());
+    }
+
+    public void viewTasksBetween(LocalTime from, LocalTime to, PrintStream out) {
+        long startNanos = System.nanoTime();
+        List<Task> tasksInRange = getTasksBetween(from, to);
+        if (tasksInRange.isEmpty()) {
+            out.println("No tasks scheduled between " + from + " and " + to);
+        } else {
+            printTasks(tasksInRange, out);
+        }
+        stats.record(ScheduleStats.Operation.VIEW_RANGE, startNanos);
+    }
+
+    // Tasks overlapping [from, to), in start-time order
+    public List<Task> getTasksBetween(LocalTime from, LocalTime to) {
+        return published.getTasksBetween(from, to);
+    }
+
+    private static void printTasks(Collection<Task> tasksToPrint, PrintStream out) {
+        for (Task t : tasksToPrint) {
+            out.println(t);
+        }
+    }
+}
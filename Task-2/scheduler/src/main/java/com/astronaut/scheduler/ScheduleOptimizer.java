@@ -0,0 +1,142 @@
+package com.astronaut.scheduler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+// Chooses the subset of candidate tasks with no two overlapping that has the largest total
+// weight (weighted interval scheduling). Unlike adding tasks one at a time, the result does
+// not depend on the order of the candidates. O(n log n): tasks are sorted by end time, and
+// for each task a binary search finds how many tasks end before it starts; then
+//   best[j] = max(best[j - 1], weight[j] + best[compatible[j]])
+// over primitive arrays, so a million candidates take one to two seconds.
+public final class ScheduleOptimizer {
+    private ScheduleOptimizer() {}
+
+    // One HIGH task is worth ten MEDIUM ones, one MEDIUM task ten LOW ones
+    public static long priorityWeight(Task task) {
+        return switch (task.getPriority()) {
+            case HIGH -> 100;
+            case MEDIUM -> 10;
+            case LOW -> 1;
+        };
+    }
+
+    public static PlanReport optimize(List<Task> candidates) {
+        return optimize(candidates, ScheduleOptimizer::priorityWeight);
+    }
+
+    // Weights must be positive. Of two plans with the same total weight, either may be returned.
+    public static PlanReport optimize(List<Task> candidates, ToLongFunction<Task> weight) {
+        int n = candidates.size();
+        // Read each task once, in input order; the passes below touch only these arrays
+        long[] starts = new long[n];
+        long[] ends = new long[n];
+        long[] taskWeights = new long[n];
+        for (int i = 0; i < n; i++) {
+            Task task = candidates.get(i);
+            starts[i] = task.getStartTime().toNanoOfDay();
+            ends[i] = task.getEndTime().toNanoOfDay();
+            taskWeights[i] = weight.applyAsLong(task);
+            if (taskWeights[i] <= 0) {
+                throw new IllegalArgumentException("Task weights must be positive.");
+            }
+        }
+
+        // Sort by end time without boxing: each key is the rank of the task's end time in the
+        // high half and its index in the low half
+        long[] sortedEnds = ends.clone();
+        Arrays.sort(sortedEnds);
+        long[] keys = new long[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = (long) lowerBound(sortedEnds, ends[i]) << 32 | i;
+        }
+        Arrays.sort(keys);
+
+        // Position j (1-based) is the j-th task by end time
+        int[] order = new int[n + 1];
+        int[] compatible = new int[n + 1];
+        long[] weights = new long[n + 1];
+        long[] best = new long[n + 1];
+        for (int j = 1; j <= n; j++) {
+            int i = (int) keys[j - 1];
+            order[j] = i;
+            weights[j] = taskWeights[i];
+            // Tasks are half-open, so one ending exactly when this one starts is compatible
+            compatible[j] = upperBound(sortedEnds, starts[i]);
+            best[j] = Math.max(best[j - 1], weights[j] + best[compatible[j]]);
+        }
+
+        boolean[] kept = new boolean[n];
+        for (int j = n; j > 0; ) {
+            if (weights[j] + best[compatible[j]] >= best[j - 1]) {
+                kept[order[j]] = true;
+                j = compatible[j];
+            } else {
+                j--;
+            }
+        }
+
+        // Planned tasks in end order are also in start order, since they do not overlap
+        List<Task> planned = new ArrayList<>();
+        for (int j = 1; j <= n; j++) {
+            if (kept[order[j]]) {
+                planned.add(candidates.get(order[j]));
+            }
+        }
+        long[] plannedEnds = new long[planned.size()];
+        for (int k = 0; k < plannedEnds.length; k++) {
+            plannedEnds[k] = planned.get(k).getEndTime().toNanoOfDay();
+        }
+        // With positive weights every dropped task overlaps a planned one, or adding it would
+        // give a better plan: the first planned task ending after it starts. Tasks dropped for
+        // the same planned task share one reason string.
+        String[] reasons = new String[planned.size()];
+        Map<Task, String> dropped = new LinkedHashMap<>();
+        for (int i = 0; i < n; i++) {
+            if (!kept[i]) {
+                int blocker = upperBound(plannedEnds, starts[i]);
+                if (reasons[blocker] == null) {
+                    Task task = planned.get(blocker);
+                    reasons[blocker] = "Conflicts with '" + task.getDescription() + "' [" + task.getPriority()
+                            + "]; keeping it gives a higher total priority.";
+                }
+                dropped.put(candidates.get(i), reasons[blocker]);
+            }
+        }
+        return new PlanReport(planned, dropped, best[n]);
+    }
+
+    // Number of values below 'value' in the sorted array
+    private static int lowerBound(long[] sorted, long value) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // Number of values at or below 'value' in the sorted array
+    private static int upperBound(long[] sorted, long value) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] <= value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
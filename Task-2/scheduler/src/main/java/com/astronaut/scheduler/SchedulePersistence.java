@@ -0,0 +1,268 @@
+package com.astronaut.scheduler;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+// Durable storage for a schedule in one directory:
+//
+//   snapshot-<seq>.bin   every task and recurring task as of journal record <seq>, with a CRC32 trailer
+//   journal-<seq>.log    ScheduleJournal segment whose first record is <seq>
+//
+// Startup loads the newest snapshot and replays only the journal records after it. A torn
+// last segment is cut back to its last whole record, but a gap in the sequence or a corrupt
+// earlier segment fails startup.
+// Every 'snapshotInterval' records the journal rolls over to a new segment and a snapshot
+// of that point is written in the background; once it is on disk, the older segments and
+// snapshots are deleted.
+public class SchedulePersistence implements AutoCloseable {
+    private static final int SNAPSHOT_MAGIC = 0x53434853; // "SCHS"
+    // Format 1 had no recurring tasks; it is still read
+    private static final int SNAPSHOT_FORMAT = 2;
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".bin";
+    private static final String JOURNAL_PREFIX = "journal-";
+    private static final String JOURNAL_SUFFIX = ".log";
+    private static final Logger logger = LoggerManager.getLogger();
+
+    private final Path directory;
+    private final int snapshotInterval;
+    private final ExecutorService snapshotWriter;
+    private volatile ScheduleJournal journal;
+    private long snapshotSeq;
+
+    private SchedulePersistence(Path directory, int snapshotInterval, ScheduleJournal journal, long snapshotSeq) {
+        this.directory = directory;
+        this.snapshotInterval = snapshotInterval;
+        this.journal = journal;
+        this.snapshotSeq = snapshotSeq;
+        this.snapshotWriter = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "schedule-snapshot-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // Restores the stored schedule into 'visitor', then opens the journal for new records
+    public static SchedulePersistence open(Path directory, int snapshotInterval, ScheduleJournal.Visitor visitor) throws IOException {
+        Files.createDirectories(directory);
+        for (Path leftover : list(directory, "", ".tmp")) {
+            Files.deleteIfExists(leftover);
+        }
+
+        long snapshotSeq = 0;
+        List<Path> snapshots = list(directory, SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX);
+        if (!snapshots.isEmpty()) {
+            snapshotSeq = readSnapshot(snapshots.get(snapshots.size() - 1), visitor);
+        }
+
+        long lastSeq = snapshotSeq;
+        List<Path> segments = list(directory, JOURNAL_PREFIX, JOURNAL_SUFFIX);
+        for (int i = 0; i < segments.size(); i++) {
+            Path segment = segments.get(i);
+            long firstSeq = seqOf(segment, JOURNAL_PREFIX, JOURNAL_SUFFIX);
+            if (firstSeq > lastSeq + 1) {
+                throw new IOException("Journal records " + (lastSeq + 1) + " to " + (firstSeq - 1)
+                        + " are missing before " + segment);
+            }
+            boolean lastSegment = i == segments.size() - 1;
+            // Left behind by a deletion that did not finish; the snapshot already has all of it
+            if (!lastSegment && seqOf(segments.get(i + 1), JOURNAL_PREFIX, JOURNAL_SUFFIX) <= snapshotSeq + 1) {
+                continue;
+            }
+            // Only the last segment can have been torn by a crash; an earlier one that does
+            // not replay to its end has lost records that later segments build on
+            lastSeq = Math.max(lastSeq, ScheduleJournal.replay(segment, lastSeq, lastSegment, visitor));
+        }
+
+        Path segment = segments.isEmpty() ? segmentPath(directory, lastSeq + 1) : segments.get(segments.size() - 1);
+        return new SchedulePersistence(directory, snapshotInterval, new ScheduleJournal(segment, lastSeq), snapshotSeq);
+    }
+
+    public void recordAdd(Task task) {
+        journal.recordAdd(task);
+    }
+
+    public void recordRemove(String description) {
+        journal.recordRemove(description);
+    }
+
+    public void recordMark(String description) {
+        journal.recordMark(description);
+    }
+
+    public void recordPutRecurring(RecurringTask rule) {
+        journal.recordPutRecurring(rule);
+    }
+
+    public void recordRemoveRecurring(String description) {
+        journal.recordRemoveRecurring(description);
+    }
+
+    // Called with the schedule's write lock held at the end of each operation.
+    // 'state' and 'recurring' must return copies of the schedule; they are only called when
+    // a snapshot is due.
+    public long commit(Supplier<Collection<Task>> state, Supplier<Collection<RecurringTask>> recurring) {
+        long seq = journal.commitOperation();
+        if (seq - snapshotSeq >= snapshotInterval) {
+            rollOver(seq, List.copyOf(state.get()), List.copyOf(recurring.get()));
+        }
+        return seq;
+    }
+
+    public void awaitDurable(long seq) {
+        journal.awaitDurable(seq);
+    }
+
+    @Override
+    public void close() throws IOException {
+        snapshotWriter.shutdown();
+        try {
+            snapshotWriter.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        journal.close();
+    }
+
+    private void rollOver(long seq, List<Task> tasks, List<RecurringTask> recurringTasks) {
+        try {
+            ScheduleJournal previous = journal;
+            journal = new ScheduleJournal(segmentPath(directory, seq + 1), seq);
+            previous.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        snapshotSeq = seq;
+        snapshotWriter.execute(() -> {
+            try {
+                writeSnapshot(seq, tasks, recurringTasks);
+                deleteObsoleteFiles(seq);
+                logger.log(Level.INFO, "Schedule snapshot written at journal record {0}.", seq);
+            } catch (IOException e) {
+                logger.log(Level.SEVERE, "Failed to write schedule snapshot: {0}", e.getMessage());
+            }
+        });
+    }
+
+    private void writeSnapshot(long seq, List<Task> tasks, List<RecurringTask> recurringTasks) throws IOException {
+        Path target = directory.resolve(SNAPSHOT_PREFIX + seqName(seq) + SNAPSHOT_SUFFIX);
+        Path temp = directory.resolve(target.getFileName() + ".tmp");
+
+        CRC32 crc = new CRC32();
+        try (OutputStream file = Files.newOutputStream(temp)) {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new CheckedOutputStream(file, crc), 1 << 16));
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(SNAPSHOT_FORMAT);
+            out.writeLong(seq);
+            out.writeInt(tasks.size());
+            for (Task task : tasks) {
+                ScheduleJournal.writeTask(out, task);
+            }
+            out.writeInt(recurringTasks.size());
+            for (RecurringTask rule : recurringTasks) {
+                ScheduleJournal.writeRecurring(out, rule);
+            }
+            out.flush();
+            new DataOutputStream(file).writeInt((int) crc.getValue());
+        }
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static long readSnapshot(Path file, ScheduleJournal.Visitor visitor) throws IOException {
+        CRC32 crc = new CRC32();
+        try (InputStream raw = new BufferedInputStream(Files.newInputStream(file), 1 << 16)) {
+            DataInputStream in = new DataInputStream(new CheckedInputStream(raw, crc));
+            int format = in.readInt() == SNAPSHOT_MAGIC ? in.readInt() : -1;
+            if (format != 1 && format != SNAPSHOT_FORMAT) {
+                throw new IOException("Not a schedule snapshot: " + file);
+            }
+            long seq = in.readLong();
+            int count = in.readInt();
+            List<Task> tasks = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                tasks.add(ScheduleJournal.readTask(in));
+            }
+            List<RecurringTask> recurringTasks = new ArrayList<>();
+            int recurringCount = format == 1 ? 0 : in.readInt();
+            for (int i = 0; i < recurringCount; i++) {
+                recurringTasks.add(ScheduleJournal.readRecurring(in));
+            }
+            int expectedCrc = (int) crc.getValue();
+            if (new DataInputStream(raw).readInt() != expectedCrc) {
+                throw new IOException("Corrupt schedule snapshot: " + file);
+            }
+            for (Task task : tasks) {
+                visitor.add(task);
+            }
+            for (RecurringTask rule : recurringTasks) {
+                visitor.putRecurring(rule);
+            }
+            return seq;
+        }
+    }
+
+    private void deleteObsoleteFiles(long seq) throws IOException {
+        for (Path snapshot : list(directory, SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX)) {
+            if (seqOf(snapshot, SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX) < seq) {
+                Files.deleteIfExists(snapshot);
+            }
+        }
+        for (Path segment : list(directory, JOURNAL_PREFIX, JOURNAL_SUFFIX)) {
+            if (seqOf(segment, JOURNAL_PREFIX, JOURNAL_SUFFIX) <= seq) {
+                Files.deleteIfExists(segment);
+            }
+        }
+    }
+
+    private static Path segmentPath(Path directory, long firstSeq) {
+        return directory.resolve(JOURNAL_PREFIX + seqName(firstSeq) + JOURNAL_SUFFIX);
+    }
+
+    // Zero-padded so that name order is sequence order
+    private static String seqName(long seq) {
+        return String.format("%019d", seq);
+    }
+
+    private static long seqOf(Path file, String prefix, String suffix) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(prefix.length(), name.length() - suffix.length()));
+    }
+
+    private static List<Path> list(Path directory, String prefix, String suffix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(f -> {
+                        String name = f.getFileName().toString();
+                        return name.startsWith(prefix) && name.endsWith(suffix);
+                    })
+                    .sorted()
+                    .toList();
+        }
+    }
+}
@@ -0,0 +1,280 @@
+package com.astronaut.scheduler;
+
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// Serves one ScheduleManager to many clients on localhost. The protocol is line based: each
+// request is one command in the batch script syntax (see BatchRunner), e.g.
+//   add "EVA prep" 09:00 10:30 high
+// Each response starts with a status line, "OK <n>", or "ERROR <n> <reason>" if the command
+// was not understood, followed by exactly n lines of the output the console would show.
+// A request longer than MAX_REQUEST_LENGTH characters gets "ERROR 0 <reason>" and the
+// connection is closed. Blank lines get no response and "exit" closes the connection.
+// Clients may pipeline: requests are answered in order, and responses are flushed only when
+// no further request is waiting, so a burst of requests goes back in few writes.
+// Each connection is served by its own thread from ThreadPools: a virtual thread on JDK 21+,
+// so thousands of open connections cost little; a pooled platform thread on older JDKs.
+public class ScheduleServer implements Closeable {
+    public static final int DEFAULT_PORT = 7070;
+    // Room for thousands of clients connecting at once
+    private static final int BACKLOG = 4096;
+    private static final int BUFFER_SIZE = 1 << 14;
+    // Far above any command; stops a client from making the server buffer without limit
+    static final int MAX_REQUEST_LENGTH = 8192;
+    private static final Logger logger = LoggerManager.getLogger();
+
+    private final ScheduleManager manager;
+    private final ServerSocket serverSocket;
+    private final ExecutorService connections = ThreadPools.newPerTaskExecutor("schedule-client");
+    private final Set<Socket> openSockets = ConcurrentHashMap.newKeySet();
+    private final LongAdder requests = new LongAdder();
+    private Thread acceptor;
+
+    // Port 0 picks a free port; see getPort()
+    public ScheduleServer(ScheduleManager manager, int port) throws IOException {
+        this.manager = manager;
+        this.serverSocket = new ServerSocket(port, BACKLOG, InetAddress.getLoopbackAddress());
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public int getConnectionCount() {
+        return openSockets.size();
+    }
+
+    public long getRequestCount() {
+        return requests.sum();
+    }
+
+    // Accepts connections on a daemon thread until close()
+    public synchronized void start() {
+        if (acceptor != null) {
+            return;
+        }
+        acceptor = new Thread(this::acceptLoop, "schedule-server");
+        acceptor.setDaemon(true);
+        acceptor.start();
+        logger.log(Level.INFO, "Schedule server listening on port {0}.", getPort());
+    }
+
+    // Returns when the server is closed
+    public void awaitClose() throws InterruptedException {
+        Thread thread;
+        synchronized (this) {
+            thread = acceptor;
+        }
+        if (thread != null) {
+            thread.join();
+        }
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                openSockets.add(socket);
+                connections.execute(() -> serve(socket));
+            } catch (IOException e) {
+                if (!serverSocket.isClosed()) {
+                    logger.log(Level.WARNING, "Failed to accept a connection: {0}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        // Everything the connection's commands print goes to its own buffer
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        PrintStream console = new PrintStream(output, false, StandardCharsets.UTF_8);
+        BatchRunner runner = new BatchRunner(manager, console);
+        try (socket;
+             RequestReader in = new RequestReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             Writer out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8), BUFFER_SIZE)) {
+            while (true) {
+                String line;
+                try {
+                    line = in.readLine();
+                } catch (RequestTooLongException e) {
+                    writeResponse(out, e.getMessage(), "");
+                    logger.log(Level.WARNING, "Closed a connection: {0}", e.getMessage());
+                    break;
+                }
+                if (line == null) {
+                    break;
+                }
+                String command = line.trim();
+                if (command.isEmpty()) {
+                    continue;
+                }
+                if (command.equalsIgnoreCase("exit")) {
+                    break;
+                }
+                output.reset();
+                String error = execute(runner, command);
+                console.flush();
+                requests.increment();
+                writeResponse(out, error, output.toString(StandardCharsets.UTF_8));
+                if (!in.ready()) {
+                    out.flush();
+                }
+            }
+            out.flush();
+        } catch (SocketException e) {
+            // The client went away; nothing to answer
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Connection failed: {0}", e.getMessage());
+        } finally {
+            openSockets.remove(socket);
+        }
+    }
+
+    // Returns null if the command ran, otherwise the reason it did not
+    private static String execute(BatchRunner runner, String command) {
+        try {
+            runner.executeLine(command);
+            return null;
+        } catch (InvalidTimeException | IllegalArgumentException e) {
+            return e.getMessage();
+        } catch (UncheckedIOException e) {
+            logger.log(Level.SEVERE, "Failed to save the change made by '{0}': {1}", new Object[]{command, e.getMessage()});
+            return "The change could not be saved: " + e.getMessage();
+        }
+    }
+
+    // The status line, then the output one line at a time. "\r\n", "\r" and "\n" each end a
+    // line, as they do for BufferedReader.readLine(), so the count is what the client reads.
+    private static void writeResponse(Writer out, String error, String text) throws IOException {
+        StringBuilder body = new StringBuilder(text.length() + 1);
+        int lines = 0;
+        int lineStart = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\n' || c == '\r') {
+                body.append(text, lineStart, i).append('\n');
+                lines++;
+                if (c == '\r' && i + 1 < text.length() && text.charAt(i + 1) == '\n') {
+                    i++;
+                }
+                lineStart = i + 1;
+            }
+        }
+        if (lineStart < text.length()) {
+            body.append(text, lineStart, text.length()).append('\n');
+            lines++;
+        }
+        if (error == null) {
+            out.write("OK " + lines + "\n");
+        } else {
+            out.write("ERROR " + lines + " " + error.replace('\r', ' ').replace('\n', ' ') + "\n");
+        }
+        out.append(body);
+    }
+
+    // Reads request lines of at most MAX_REQUEST_LENGTH characters; a longer one is answered
+    // with an error and ends the connection, since the rest of it cannot be told from the
+    // next request. Lines end with "\n" or "\r\n".
+    private static final class RequestReader implements Closeable {
+        private final Reader in;
+        private final char[] buffer = new char[BUFFER_SIZE];
+        private final StringBuilder line = new StringBuilder();
+        private int position;
+        private int limit;
+
+        RequestReader(Reader in) {
+            this.in = in;
+        }
+
+        // Null at the end of the stream; a last line without "\n" is still returned
+        String readLine() throws IOException {
+            line.setLength(0);
+            while (true) {
+                if (position == limit) {
+                    limit = in.read(buffer, 0, buffer.length);
+                    position = 0;
+                    if (limit <= 0) {
+                        limit = 0;
+                        return line.length() > 0 ? stripCarriageReturn() : null;
+                    }
+                }
+                int start = position;
+                while (position < limit && buffer[position] != '\n') {
+                    position++;
+                }
+                if (line.length() + position - start > MAX_REQUEST_LENGTH + 1) {
+                    throw new RequestTooLongException();
+                }
+                line.append(buffer, start, position - start);
+                if (position < limit) {
+                    position++;
+                    return stripCarriageReturn();
+                }
+            }
+        }
+
+        // True if another request has at least started to arrive
+        boolean ready() throws IOException {
+            return position < limit || in.ready();
+        }
+
+        private String stripCarriageReturn() throws RequestTooLongException {
+            int length = line.length();
+            if (length > 0 && line.charAt(length - 1) == '\r') {
+                length--;
+            }
+            if (length > MAX_REQUEST_LENGTH) {
+                throw new RequestTooLongException();
+            }
+            return line.substring(0, length);
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+
+    private static final class RequestTooLongException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        RequestTooLongException() {
+            super("Request longer than " + MAX_REQUEST_LENGTH + " characters.");
+        }
+    }
+
+    // Stops accepting and closes every open connection
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        for (Socket socket : openSockets) {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // Closing anyway
+            }
+        }
+        connections.shutdown();
+        logger.log(Level.INFO, "Schedule server on port {0} closed.", getPort());
+    }
+}
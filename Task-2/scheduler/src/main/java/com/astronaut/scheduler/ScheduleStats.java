@@ -0,0 +1,179 @@
+package com.astronaut.scheduler;
+
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+// Operation latencies and conflict counters of a ScheduleManager. Recording takes two
+// System.nanoTime() calls and a few uncontended atomic updates; nothing here locks.
+// Latencies are wall time seen by the caller, including waiting for the lock and the journal.
+public class ScheduleStats implements ScheduleStatsMXBean {
+    public static final String OBJECT_NAME = "com.astronaut.scheduler:type=ScheduleStats";
+
+    public enum Operation {
+        ADD, AUTO_PLACE, BULK_ADD, PLAN, ADD_RECURRING, SKIP, EDIT, REMOVE, MARK, RESCHEDULE, FIND_FREE_SLOTS,
+        VIEW, VIEW_PRIORITY, VIEW_RANGE;
+
+        // e.g. "view priority", as typed at the console
+        public String getDisplayName() {
+            return name().toLowerCase(Locale.ROOT).replace('_', ' ');
+        }
+    }
+
+    private final Map<Operation, LatencyHistogram> latencies = new EnumMap<>(Operation.class);
+    private final LongAdder conflicts = new LongAdder();
+    private final LongAdder overrides = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder queued = new LongAdder();
+
+    public ScheduleStats() {
+        for (Operation operation : Operation.values()) {
+            latencies.put(operation, new LatencyHistogram());
+        }
+    }
+
+    // Records the time since startNanos, a System.nanoTime() value
+    void record(Operation operation, long startNanos) {
+        latencies.get(operation).record(System.nanoTime() - startNanos);
+    }
+
+    void conflictFound() {
+        conflicts.increment();
+    }
+
+    void conflictOverridden() {
+        overrides.increment();
+    }
+
+    void conflictRejected() {
+        rejected.increment();
+    }
+
+    void conflictQueued() {
+        queued.increment();
+    }
+
+    public LatencyHistogram getLatency(Operation operation) {
+        return latencies.get(operation);
+    }
+
+    @Override
+    public long getConflictCount() {
+        return conflicts.sum();
+    }
+
+    @Override
+    public long getOverrideCount() {
+        return overrides.sum();
+    }
+
+    @Override
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    @Override
+    public long getQueuedCount() {
+        return queued.sum();
+    }
+
+    @Override
+    public void reset() {
+        for (LatencyHistogram histogram : latencies.values()) {
+            histogram.reset();
+        }
+        conflicts.reset();
+        overrides.reset();
+        rejected.reset();
+        queued.reset();
+    }
+
+    // Registers these stats and one bean per operation with the platform MBean server,
+    // so JConsole or a local JMX scraper can read them
+    public void registerMBeans() throws JMException {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        server.registerMBean(this, new ObjectName(OBJECT_NAME));
+        for (Operation operation : Operation.values()) {
+            server.registerMBean(new OperationStats(latencies.get(operation)),
+                    new ObjectName(OBJECT_NAME + ",operation=" + operation.getDisplayName().replace(' ', '-')));
+        }
+    }
+
+    // Operations that ran at least once, with their percentiles in microseconds
+    public void printReport() {
+        printReport(System.out);
+    }
+
+    public void printReport(PrintStream out) {
+        out.println(String.format(Locale.ROOT, "%-16s %8s %10s %10s %10s %10s",
+                "Operation", "Count", "p50 us", "p99 us", "p999 us", "max us"));
+        boolean any = false;
+        for (Operation operation : Operation.values()) {
+            LatencyHistogram histogram = latencies.get(operation);
+            long count = histogram.getCount();
+            if (count == 0) {
+                continue;
+            }
+            any = true;
+            out.println(String.format(Locale.ROOT, "%-16s %8d %10.1f %10.1f %10.1f %10.1f",
+                    operation.getDisplayName(), count,
+                    micros(histogram.getValueAtPercentile(50)),
+                    micros(histogram.getValueAtPercentile(99)),
+                    micros(histogram.getValueAtPercentile(99.9)),
+                    micros(histogram.getMaxNanos())));
+        }
+        if (!any) {
+            out.println("No operations recorded yet.");
+        }
+        out.println("Conflicts: " + getConflictCount() + ", overridden: " + getOverrideCount()
+                + ", rejected: " + getRejectedCount() + ", queued: " + getQueuedCount());
+    }
+
+    private static double micros(long nanos) {
+        return nanos / 1000.0;
+    }
+
+    private static final class OperationStats implements OperationStatsMXBean {
+        private final LatencyHistogram histogram;
+
+        private OperationStats(LatencyHistogram histogram) {
+            this.histogram = histogram;
+        }
+
+        @Override
+        public long getCount() {
+            return histogram.getCount();
+        }
+
+        @Override
+        public double getMeanMicros() {
+            return histogram.getMeanNanos() / 1000.0;
+        }
+
+        @Override
+        public double getP50Micros() {
+            return micros(histogram.getValueAtPercentile(50));
+        }
+
+        @Override
+        public double getP99Micros() {
+            return micros(histogram.getValueAtPercentile(99));
+        }
+
+        @Override
+        public double getP999Micros() {
+            return micros(histogram.getValueAtPercentile(99.9));
+        }
+
+        @Override
+        public double getMaxMicros() {
+            return micros(histogram.getMaxNanos());
+        }
+    }
+}
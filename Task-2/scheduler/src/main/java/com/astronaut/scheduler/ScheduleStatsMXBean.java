@@ -0,0 +1,17 @@
+package com.astronaut.scheduler;
+
+// Schedule-wide counters, registered as com.astronaut.scheduler:type=ScheduleStats
+public interface ScheduleStatsMXBean {
+    // New tasks whose time overlapped scheduled tasks, whatever happened next
+    long getConflictCount();
+
+    long getOverrideCount();
+
+    // Conflicting tasks left out, by priority or by the conflict policy
+    long getRejectedCount();
+
+    long getQueuedCount();
+
+    // Clears the counters and every operation histogram
+    void reset();
+}
@@ -0,0 +1,191 @@
+package com.astronaut.scheduler;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+
+// One immutable, numbered version of a schedule. Versions share structure with each other,
+// so holding on to one is cheap and its views never change, whatever happens to the
+// schedule later. Views include the occurrences of recurring tasks, created only for the
+// window being viewed; the whole-day views create them at most once per version.
+public final class ScheduleVersion {
+    static final ScheduleVersion EMPTY = new ScheduleVersion(0, PersistentTaskTree.EMPTY, emptyByPriority(), List.of());
+    private static final Comparator<Task> BY_START = Comparator.comparing(Task::getStartTime);
+
+    private final long number;
+    private final PersistentTaskTree tasks;
+    // Indexed by PriorityLevel ordinal
+    private final PersistentTaskTree[] tasksByPriority;
+    // A day holds few rules, so a plain immutable list
+    private final List<RecurringTask> recurringTasks;
+    // Whole-day views including occurrences, built on first use when there are rules
+    private volatile List<Task> expandedTasks;
+    private volatile List<List<Task>> expandedTasksByPriority;
+
+    private ScheduleVersion(long number, PersistentTaskTree tasks, PersistentTaskTree[] tasksByPriority,
+                            List<RecurringTask> recurringTasks) {
+        this.number = number;
+        this.tasks = tasks;
+        this.tasksByPriority = tasksByPriority;
+        this.recurringTasks = recurringTasks;
+    }
+
+    // Counts the changes published by the schedule, starting at 0 for an empty one
+    public long getNumber() {
+        return number;
+    }
+
+    // One-off tasks; occurrences of recurring tasks are not counted
+    public int size() {
+        return tasks.size();
+    }
+
+    // In start-time order
+    public List<Task> getTasks() {
+        if (recurringTasks.isEmpty()) {
+            return tasks.asList();
+        }
+        List<Task> expanded = expandedTasks;
+        if (expanded == null) {
+            expanded = expand(tasks.asList(), null);
+            expandedTasks = expanded;
+        }
+        return expanded;
+    }
+
+    public List<Task> getTasksByPriority(PriorityLevel priority) {
+        if (recurringTasks.isEmpty()) {
+            return tasksByPriority[priority.ordinal()].asList();
+        }
+        List<List<Task>> expanded = expandedTasksByPriority;
+        if (expanded == null) {
+            expanded = new ArrayList<>();
+            for (PriorityLevel level : PriorityLevel.values()) {
+                expanded.add(expand(tasksByPriority[level.ordinal()].asList(), level));
+            }
+            expandedTasksByPriority = expanded;
+        }
+        return expanded.get(priority.ordinal());
+    }
+
+    // Tasks overlapping [from, to), in start-time order
+    public List<Task> getTasksBetween(LocalTime from, LocalTime to) {
+        // First task starting at or after 'from'; only its predecessor can reach into the range
+        int first = tasks.indexOf(from);
+        List<Task> tasksInRange = new ArrayList<>();
+        if (first > 0 && tasks.get(first - 1).getEndTime().isAfter(from)) {
+            tasksInRange.add(tasks.get(first - 1));
+        }
+        for (Iterator<Task> it = tasks.iterator(first); it.hasNext(); ) {
+            Task task = it.next();
+            if (!task.getStartTime().isBefore(to)) {
+                break;
+            }
+            tasksInRange.add(task);
+        }
+        if (!recurringTasks.isEmpty()) {
+            for (RecurringTask rule : recurringTasks) {
+                tasksInRange.addAll(rule.occurrencesBetween(from, to));
+            }
+            tasksInRange.sort(BY_START);
+        }
+        return tasksInRange;
+    }
+
+    public List<RecurringTask> getRecurringTasks() {
+        return recurringTasks;
+    }
+
+    // Null if no recurring task has this description
+    public RecurringTask getRecurringTask(String description) {
+        for (RecurringTask rule : recurringTasks) {
+            if (rule.getDescription().equalsIgnoreCase(description)) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    // What changed from this version to 'other' among one-off tasks, in start-time order.
+    // Recurring tasks are compared through getRecurringTasks().
+    public List<TaskChange> diff(ScheduleVersion other) {
+        List<TaskChange> changes = new ArrayList<>();
+        PersistentTaskTree.diff(tasks, other.tasks, new PersistentTaskTree.DiffVisitor() {
+            @Override
+            public void added(Task task) {
+                changes.add(new TaskChange(TaskChange.Kind.ADDED, null, task));
+            }
+
+            @Override
+            public void removed(Task task) {
+                changes.add(new TaskChange(TaskChange.Kind.REMOVED, task, null));
+            }
+
+            @Override
+            public void changed(Task before, Task after) {
+                changes.add(new TaskChange(TaskChange.Kind.CHANGED, before, after));
+            }
+        });
+        return changes;
+    }
+
+    // Adds or replaces a task; the number is set when the change is published
+    ScheduleVersion with(Task task) {
+        int priority = task.getPriority().ordinal();
+        return new ScheduleVersion(number, tasks.with(task), replace(priority, tasksByPriority[priority].with(task)), recurringTasks);
+    }
+
+    ScheduleVersion without(Task task) {
+        int priority = task.getPriority().ordinal();
+        return new ScheduleVersion(number, tasks.without(task), replace(priority, tasksByPriority[priority].without(task)), recurringTasks);
+    }
+
+    // Adds the rule, or replaces the one with the same description
+    ScheduleVersion withRecurring(RecurringTask rule) {
+        List<RecurringTask> rules = new ArrayList<>(recurringTasks.size() + 1);
+        for (RecurringTask existing : recurringTasks) {
+            if (!existing.getDescription().equalsIgnoreCase(rule.getDescription())) {
+                rules.add(existing);
+            }
+        }
+        rules.add(rule);
+        return new ScheduleVersion(number, tasks, tasksByPriority, List.copyOf(rules));
+    }
+
+    ScheduleVersion withoutRecurring(String description) {
+        List<RecurringTask> rules = new ArrayList<>(recurringTasks);
+        rules.removeIf(rule -> rule.getDescription().equalsIgnoreCase(description));
+        return new ScheduleVersion(number, tasks, tasksByPriority, List.copyOf(rules));
+    }
+
+    ScheduleVersion numbered(long newNumber) {
+        return new ScheduleVersion(newNumber, tasks, tasksByPriority, recurringTasks);
+    }
+
+    // The given one-off tasks plus the occurrences of the rules of 'priority' (all rules if null)
+    private List<Task> expand(List<Task> oneOff, PriorityLevel priority) {
+        List<Task> expanded = new ArrayList<>(oneOff);
+        for (RecurringTask rule : recurringTasks) {
+            if (priority == null || rule.getPriority() == priority) {
+                expanded.addAll(rule.occurrences());
+            }
+        }
+        expanded.sort(BY_START);
+        return List.copyOf(expanded);
+    }
+
+    private PersistentTaskTree[] replace(int priority, PersistentTaskTree tree) {
+        PersistentTaskTree[] copy = tasksByPriority.clone();
+        copy[priority] = tree;
+        return copy;
+    }
+
+    private static PersistentTaskTree[] emptyByPriority() {
+        PersistentTaskTree[] trees = new PersistentTaskTree[PriorityLevel.values().length];
+        Arrays.fill(trees, PersistentTaskTree.EMPTY);
+        return trees;
+    }
+}
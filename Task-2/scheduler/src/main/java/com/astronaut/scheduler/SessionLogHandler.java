@@ -0,0 +1,54 @@
+package com.astronaut.scheduler;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+
+// Keeps the most recent log lines of the session in a fixed-size ring, evicting the oldest.
+// Records are formatted when they are published, so the ring holds only strings: a record's
+// parameters are not kept alive and later changes to them do not show up in 'view logs'.
+public class SessionLogHandler extends Handler {
+    private final String[] ring;
+    private int next;
+    private int size;
+
+    public SessionLogHandler(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("The session log must hold at least one record.");
+        }
+        ring = new String[capacity];
+    }
+
+    @Override
+    public void publish(LogRecord record) {
+        if (!isLoggable(record)) {
+            return;
+        }
+        // Formatted outside the lock so concurrent loggers only wait for the store
+        String line = getFormatter().format(record);
+        synchronized (this) {
+            ring[next] = line;
+            next = (next + 1) % ring.length;
+            if (size < ring.length) {
+                size++;
+            }
+        }
+    }
+
+    // Oldest first
+    public synchronized List<String> getFormattedRecords() {
+        String[] lines = new String[size];
+        int first = (next - size + ring.length) % ring.length;
+        for (int i = 0; i < size; i++) {
+            lines[i] = ring[(first + i) % ring.length];
+        }
+        return Arrays.asList(lines);
+    }
+
+    @Override
+    public void flush() {}
+
+    @Override
+    public void close() throws SecurityException {}
+}
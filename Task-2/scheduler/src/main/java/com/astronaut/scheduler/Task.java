@@ -1,3 +1,5 @@
+package com.astronaut.scheduler;
+
 import java.time.LocalTime;
 
 public class Task {
@@ -5,7 +7,7 @@ public class Task {
     private LocalTime startTime;
     private LocalTime endTime;
     private PriorityLevel priority;
-    private boolean isCompleted;
+    private volatile boolean isCompleted;
 
     public Task(String description, LocalTime startTime, LocalTime endTime, PriorityLevel priority) {
         this.description = description;
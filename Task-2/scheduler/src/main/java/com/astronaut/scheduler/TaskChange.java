@@ -0,0 +1,39 @@
+package com.astronaut.scheduler;
+
+// One difference between two schedule versions
+public class TaskChange {
+    public enum Kind { ADDED, REMOVED, CHANGED }
+
+    private final Kind kind;
+    private final Task before;
+    private final Task after;
+
+    public TaskChange(Kind kind, Task before, Task after) {
+        this.kind = kind;
+        this.before = before;
+        this.after = after;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    // Null for ADDED
+    public Task getBefore() {
+        return before;
+    }
+
+    // Null for REMOVED
+    public Task getAfter() {
+        return after;
+    }
+
+    @Override
+    public String toString() {
+        return switch (kind) {
+            case ADDED -> "+ " + after;
+            case REMOVED -> "- " + before;
+            case CHANGED -> "~ " + before + " -> " + after;
+        };
+    }
+}
@@ -0,0 +1,137 @@
+package com.astronaut.scheduler;
+
+import java.time.Duration;
+import java.time.LocalTime;
+
+// Input is checked by hand-written parsers that return error codes instead of throwing, so
+// bad rows cost no more than good ones. The exception is only built at the createTask boundary.
+public class TaskFactory {
+    private static final int INVALID = -1;
+    // Priority candidates by lower-case first letter; the whole name is then compared
+    private static final PriorityLevel[] PRIORITY_BY_LETTER = new PriorityLevel[26];
+
+    static {
+        for (PriorityLevel priority : PriorityLevel.values()) {
+            PRIORITY_BY_LETTER[Character.toLowerCase(priority.name().charAt(0)) - 'a'] = priority;
+        }
+    }
+
+    public static Task createTask(String description, String startTimeStr, String endTimeStr, String priorityStr) throws InvalidTimeException {
+        TaskValidation validation = validate(description, startTimeStr, endTimeStr, priorityStr);
+        if (validation != TaskValidation.VALID) {
+            throw new InvalidTimeException(validation.getMessage());
+        }
+        return new Task(description, toLocalTime(parseTime(startTimeStr)), toLocalTime(parseTime(endTimeStr)), parsePriority(priorityStr));
+    }
+
+    // The first occurrence runs from start to end, then one every 'every' (minutes, or HH:MM),
+    // the last one starting no later than 'until'
+    public static RecurringTask createRecurringTask(String description, String startTimeStr, String endTimeStr,
+                                                    String everyStr, String untilStr, String priorityStr) throws InvalidTimeException {
+        TaskValidation validation = validate(description, startTimeStr, endTimeStr, priorityStr);
+        if (validation != TaskValidation.VALID) {
+            throw new InvalidTimeException(validation.getMessage());
+        }
+        int every = parseInterval(everyStr);
+        if (every == INVALID) {
+            throw new InvalidTimeException("Invalid repeat interval. Please use minutes or HH:MM.");
+        }
+        int until = parseTime(untilStr);
+        if (until == INVALID) {
+            throw new InvalidTimeException(TaskValidation.INVALID_TIME.getMessage());
+        }
+        int start = parseTime(startTimeStr);
+        int end = parseTime(endTimeStr);
+        try {
+            return new RecurringTask(description, toLocalTime(start), toLocalTime(until), Duration.ofSeconds(end - start),
+                    Duration.ofSeconds(every), parsePriority(priorityStr));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidTimeException(e.getMessage());
+        }
+    }
+
+    // Whole minutes ("90") or "HH:MM" -> seconds, or INVALID
+    static int parseInterval(String text) {
+        if (text == null || text.isEmpty()) {
+            return INVALID;
+        }
+        if (text.indexOf(':') >= 0) {
+            int seconds = parseTime(text);
+            return seconds == 0 ? INVALID : seconds;
+        }
+        if (text.length() > 4) {
+            return INVALID;
+        }
+        int minutes = 0;
+        for (int i = 0; i < text.length(); i++) {
+            int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return INVALID;
+            }
+            minutes = minutes * 10 + digit;
+        }
+        return minutes == 0 || minutes >= 24 * 60 ? INVALID : minutes * 60;
+    }
+
+    // Same checks as createTask, without allocating or throwing
+    public static TaskValidation validate(String description, String startTimeStr, String endTimeStr, String priorityStr) {
+        if (description == null) {
+            return TaskValidation.MISSING_DESCRIPTION;
+        }
+        int start = parseTime(startTimeStr);
+        int end = parseTime(endTimeStr);
+        if (start == INVALID || end == INVALID) {
+            return TaskValidation.INVALID_TIME;
+        }
+        if (parsePriority(priorityStr) == null) {
+            return TaskValidation.INVALID_PRIORITY;
+        }
+        if (start >= end) {
+            return TaskValidation.END_NOT_AFTER_START;
+        }
+        return TaskValidation.VALID;
+    }
+
+    // "HH:MM" or "HH:MM:SS" in 24-hour format -> second of the day, or INVALID
+    static int parseTime(CharSequence text) {
+        if (text == null || (text.length() != 5 && text.length() != 8)) {
+            return INVALID;
+        }
+        int hour = twoDigits(text, 0);
+        int minute = text.charAt(2) == ':' ? twoDigits(text, 3) : INVALID;
+        int second = 0;
+        if (text.length() == 8) {
+            second = text.charAt(5) == ':' ? twoDigits(text, 6) : INVALID;
+        }
+        if (hour == INVALID || hour > 23 || minute == INVALID || minute > 59 || second == INVALID || second > 59) {
+            return INVALID;
+        }
+        return hour * 3600 + minute * 60 + second;
+    }
+
+    private static int twoDigits(CharSequence text, int index) {
+        int tens = text.charAt(index) - '0';
+        int ones = text.charAt(index + 1) - '0';
+        if (tens < 0 || tens > 9 || ones < 0 || ones > 9) {
+            return INVALID;
+        }
+        return tens * 10 + ones;
+    }
+
+    // Case-insensitive; null if the text is not a priority level
+    static PriorityLevel parsePriority(String text) {
+        if (text == null || text.isEmpty()) {
+            return null;
+        }
+        int letter = Character.toLowerCase(text.charAt(0)) - 'a';
+        if (letter < 0 || letter >= PRIORITY_BY_LETTER.length) {
+            return null;
+        }
+        PriorityLevel candidate = PRIORITY_BY_LETTER[letter];
+        return candidate != null && candidate.name().equalsIgnoreCase(text) ? candidate : null;
+    }
+
+    private static LocalTime toLocalTime(int secondOfDay) {
+        return LocalTime.ofSecondOfDay(secondOfDay);
+    }
+}
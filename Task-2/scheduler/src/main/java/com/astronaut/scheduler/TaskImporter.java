@@ -0,0 +1,282 @@
+package com.astronaut.scheduler;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Streams task rows from a CSV or JSON Lines file into the schedule.
+// Rows are read one line at a time, built through TaskFactory and handed to
+// ScheduleManager.addTasks in batches; bad rows are reported, not fatal.
+// planFile reads every row first and hands them to ScheduleManager.planTasks instead.
+//
+// CSV:  description,start,end,priority   (optional header row, "quoted, fields" allowed)
+// JSON: {"description": "EVA prep", "start": "09:00", "end": "10:30", "priority": "High"}
+//       one object per line; a surrounding [ ... ] array with one element per line also works.
+public class TaskImporter {
+    private static final int BATCH_SIZE = 1000;
+
+    public static ImportReport importFile(Path file, ScheduleManager manager) throws IOException {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        boolean json = name.endsWith(".json") || name.endsWith(".jsonl");
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return importTasks(reader, json, manager);
+        }
+    }
+
+    public static ImportReport importTasks(BufferedReader reader, boolean json, ScheduleManager manager) throws IOException {
+        ImportReport report = new ImportReport();
+        List<Task> batch = new ArrayList<>(BATCH_SIZE);
+        Map<Task, Long> batchLines = new HashMap<>();
+        readTasks(reader, json, report, (task, lineNumber) -> {
+            batch.add(task);
+            batchLines.put(task, lineNumber);
+            if (batch.size() == BATCH_SIZE) {
+                flushBatch(batch, batchLines, manager, report);
+            }
+        });
+        flushBatch(batch, batchLines, manager, report);
+        return report;
+    }
+
+    // All rows are candidates together, so which tasks are kept does not depend on row order;
+    // candidates the optimizer drops are reported like rejected rows
+    public static ImportReport planFile(Path file, ScheduleManager manager) throws IOException {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        boolean json = name.endsWith(".json") || name.endsWith(".jsonl");
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return planTasks(reader, json, manager);
+        }
+    }
+
+    public static ImportReport planTasks(BufferedReader reader, boolean json, ScheduleManager manager) throws IOException {
+        ImportReport report = new ImportReport();
+        List<Task> candidates = new ArrayList<>();
+        Map<Task, Long> lines = new HashMap<>();
+        readTasks(reader, json, report, (task, lineNumber) -> {
+            candidates.add(task);
+            lines.put(task, lineNumber);
+        });
+        PlanReport plan = manager.planTasks(candidates);
+        for (Map.Entry<Task, String> entry : plan.getDropped().entrySet()) {
+            report.addError(lines.get(entry.getKey()), entry.getValue());
+        }
+        report.tasksAdded(plan.getPlanned().size());
+        return report;
+    }
+
+    private interface RowSink {
+        void accept(Task task, long lineNumber);
+    }
+
+    // Valid rows go to the sink; bad rows are recorded in the report
+    private static void readTasks(BufferedReader reader, boolean json, ImportReport report, RowSink sink) throws IOException {
+        boolean firstRow = true;
+        long lineNumber = 0;
+        String line;
+
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            String row = line.trim();
+            if (json) {
+                row = stripArraySyntax(row);
+            }
+            if (row.isEmpty() || row.startsWith("#")) {
+                continue;
+            }
+            if (firstRow) {
+                firstRow = false;
+                if (!json && row.toLowerCase(Locale.ROOT).startsWith("description,")) {
+                    continue;
+                }
+            }
+
+            report.rowRead();
+            try {
+                String[] fields = json ? parseJsonRow(row) : parseCsvRow(row);
+                // Bad values are common in bulk input; checking first avoids an exception per bad row
+                TaskValidation validation = TaskFactory.validate(fields[0], fields[1], fields[2], fields[3]);
+                if (validation != TaskValidation.VALID) {
+                    report.addError(lineNumber, validation.getMessage());
+                } else {
+                    sink.accept(TaskFactory.createTask(fields[0], fields[1], fields[2], fields[3]), lineNumber);
+                }
+            } catch (InvalidTimeException e) {
+                report.addError(lineNumber, e.getMessage());
+            }
+        }
+    }
+
+    private static void flushBatch(List<Task> batch, Map<Task, Long> batchLines, ScheduleManager manager, ImportReport report) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        Map<Task, String> rejected = manager.addTasks(batch);
+        for (Map.Entry<Task, String> entry : rejected.entrySet()) {
+            report.addError(batchLines.get(entry.getKey()), entry.getValue());
+        }
+        report.tasksAdded(batch.size() - rejected.size());
+        batch.clear();
+        batchLines.clear();
+    }
+
+    private static String stripArraySyntax(String row) {
+        if (row.startsWith("[")) {
+            row = row.substring(1).trim();
+        }
+        if (row.endsWith("]")) {
+            row = row.substring(0, row.length() - 1).trim();
+        }
+        if (row.endsWith(",")) {
+            row = row.substring(0, row.length() - 1).trim();
+        }
+        return row;
+    }
+
+    private static String[] parseCsvRow(String row) throws InvalidTimeException {
+        List<String> fields = new ArrayList<>(4);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < row.length(); i++) {
+            char c = row.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < row.length() && row.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new InvalidTimeException("Invalid row: unterminated quoted field.");
+        }
+        fields.add(field.toString().trim());
+
+        if (fields.size() != 4) {
+            throw new InvalidTimeException("Invalid row: expected description,start,end,priority but found " + fields.size() + " fields.");
+        }
+        return fields.toArray(new String[0]);
+    }
+
+    // Flat JSON object with string values only
+    private static String[] parseJsonRow(String row) throws InvalidTimeException {
+        String[] fields = new String[4];
+        JsonCursor cursor = new JsonCursor(row);
+
+        cursor.expect('{');
+        if (!cursor.tryConsume('}')) {
+            do {
+                String key = cursor.readString();
+                cursor.expect(':');
+                String value = cursor.readString();
+                switch (key) {
+                    case "description" -> fields[0] = value;
+                    case "start", "startTime" -> fields[1] = value;
+                    case "end", "endTime" -> fields[2] = value;
+                    case "priority" -> fields[3] = value;
+                    default -> { }
+                }
+            } while (cursor.tryConsume(','));
+            cursor.expect('}');
+        }
+        cursor.expectEnd();
+
+        if (fields[0] == null || fields[1] == null || fields[2] == null || fields[3] == null) {
+            throw new InvalidTimeException("Invalid row: description, start, end and priority are required.");
+        }
+        return fields;
+    }
+
+    private static class JsonCursor {
+        private final String text;
+        private int pos;
+
+        JsonCursor(String text) {
+            this.text = text;
+        }
+
+        void expect(char c) throws InvalidTimeException {
+            if (!tryConsume(c)) {
+                throw new InvalidTimeException("Invalid row: expected '" + c + "' at column " + (pos + 1) + ".");
+            }
+        }
+
+        boolean tryConsume(char c) {
+            skipWhitespace();
+            if (pos < text.length() && text.charAt(pos) == c) {
+                pos++;
+                return true;
+            }
+            return false;
+        }
+
+        void expectEnd() throws InvalidTimeException {
+            skipWhitespace();
+            if (pos != text.length()) {
+                throw new InvalidTimeException("Invalid row: unexpected text at column " + (pos + 1) + ".");
+            }
+        }
+
+        String readString() throws InvalidTimeException {
+            expect('"');
+            StringBuilder value = new StringBuilder();
+            while (pos < text.length()) {
+                char c = text.charAt(pos++);
+                if (c == '"') {
+                    return value.toString();
+                }
+                if (c != '\\') {
+                    value.append(c);
+                    continue;
+                }
+                if (pos >= text.length()) {
+                    break;
+                }
+                char escaped = text.charAt(pos++);
+                switch (escaped) {
+                    case 'n' -> value.append('\n');
+                    case 't' -> value.append('\t');
+                    case 'r' -> value.append('\r');
+                    case 'b' -> value.append('\b');
+                    case 'f' -> value.append('\f');
+                    case 'u' -> {
+                        if (pos + 4 > text.length()) {
+                            throw new InvalidTimeException("Invalid row: bad unicode escape.");
+                        }
+                        try {
+                            value.append((char) Integer.parseInt(text.substring(pos, pos + 4), 16));
+                        } catch (NumberFormatException e) {
+                            throw new InvalidTimeException("Invalid row: bad unicode escape.");
+                        }
+                        pos += 4;
+                    }
+                    default -> value.append(escaped);
+                }
+            }
+            throw new InvalidTimeException("Invalid row: unterminated string.");
+        }
+
+        private void skipWhitespace() {
+            while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+                pos++;
+            }
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.astronaut.scheduler;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+// Interval index over scheduled tasks, keyed by start time.
+// The schedule never holds two overlapping tasks, so ordering by start also orders by end:
+// an overlap query is one floor lookup plus a walk over the k hits, O(log n + k).
+public class TaskIntervalIndex {
+    private final NavigableMap<LocalTime, Task> tasksByStart = new TreeMap<>();
+
+    public void add(Task task) {
+        tasksByStart.put(task.getStartTime(), task);
+    }
+
+    public boolean remove(Task task) {
+        return tasksByStart.remove(task.getStartTime(), task);
+    }
+
+    public void clear() {
+        tasksByStart.clear();
+    }
+
+    public int size() {
+        return tasksByStart.size();
+    }
+
+    public boolean isEmpty() {
+        return tasksByStart.isEmpty();
+    }
+
+    // Live, read-only view in start-time order
+    public Collection<Task> getTasks() {
+        return Collections.unmodifiableCollection(tasksByStart.values());
+    }
+
+    public List<Task> findOverlapping(LocalTime start, LocalTime end) {
+        List<Task> overlapping = new ArrayList<>();
+
+        // Only the last task starting before 'start' can reach past it
+        Map.Entry<LocalTime, Task> before = tasksByStart.lowerEntry(start);
+        if (before != null && overlaps(before.getValue(), start, end)) {
+            overlapping.add(before.getValue());
+        }
+
+        for (Task t : tasksByStart.subMap(start, true, end, false).values()) {
+            if (overlaps(t, start, end)) {
+                overlapping.add(t);
+            }
+        }
+        return overlapping;
+    }
+
+    // Same answer as !findOverlapping(start, end).isEmpty() without building a list: only the
+    // last task starting at or before 'start' and the first one starting after it can overlap
+    // first, since the tasks do not overlap each other
+    public boolean anyOverlapping(LocalTime start, LocalTime end) {
+        Map.Entry<LocalTime, Task> floor = tasksByStart.floorEntry(start);
+        if (floor != null && overlaps(floor.getValue(), start, end)) {
+            return true;
+        }
+        Map.Entry<LocalTime, Task> higher = tasksByStart.higherEntry(start);
+        return higher != null && overlaps(higher.getValue(), start, end);
+    }
+
+    // Lazily walks the tasks ending after 'from', in start-time order
+    public Iterator<Task> iteratorFrom(LocalTime from) {
+        Map.Entry<LocalTime, Task> before = tasksByStart.lowerEntry(from);
+        LocalTime first = before != null && before.getValue().getEndTime().isAfter(from) ? before.getKey() : from;
+        return tasksByStart.tailMap(first, true).values().iterator();
+    }
+
+    public List<Task> findOverlapping(Task task) {
+        return findOverlapping(task.getStartTime(), task.getEndTime());
+    }
+
+    private static boolean overlaps(Task t, LocalTime start, LocalTime end) {
+        return start.isBefore(t.getEndTime()) && end.isAfter(t.getStartTime());
+    }
+}
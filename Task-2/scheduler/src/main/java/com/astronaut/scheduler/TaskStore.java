@@ -0,0 +1,42 @@
+package com.astronaut.scheduler;
+
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.List;
+
+// Storage behind ScheduleManager. Stored tasks never overlap and descriptions are unique,
+// compared case-insensitively; ScheduleManager checks both before calling add().
+// Implementations are not thread-safe: ScheduleManager only calls them under its lock.
+// Tasks handed out may be copies, so changes must go through the store (markCompleted).
+public interface TaskStore {
+    Task get(String description);
+
+    // Cheap yes/no check that allocates nothing
+    boolean overlapsAny(LocalTime start, LocalTime end);
+
+    // Stored tasks overlapping [start, end), in start-time order
+    List<Task> findOverlapping(LocalTime start, LocalTime end);
+
+    // Gaps of at least minLength inside [from, to) holding no task of 'priority' or higher,
+    // earliest first, at most 'limit' of them. Cost grows with the tasks walked, not the schedule.
+    List<TimeSlot> findFreeSlots(LocalTime from, LocalTime to, Duration minLength, PriorityLevel priority, int limit);
+
+    void add(Task task);
+
+    // Returns the removed task, or null if no task has this description
+    Task remove(String description);
+
+    boolean markCompleted(String description);
+
+    // Start-time order
+    List<Task> getTasks();
+
+    List<Task> getTasks(PriorityLevel priority);
+
+    int size();
+
+    // False for tasks this store cannot represent
+    default boolean supports(Task task) {
+        return true;
+    }
+}
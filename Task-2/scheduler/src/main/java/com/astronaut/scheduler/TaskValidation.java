@@ -0,0 +1,20 @@
+package com.astronaut.scheduler;
+
+// Outcome of TaskFactory.validate; the messages match those of InvalidTimeException
+public enum TaskValidation {
+    VALID("Valid."),
+    INVALID_TIME("Invalid time format. Please use HH:MM (24-hour format)."),
+    INVALID_PRIORITY("Invalid priority level. Please use High, Medium, or Low."),
+    END_NOT_AFTER_START("Start time must be before end time."),
+    MISSING_DESCRIPTION("Invalid input: description is missing.");
+
+    private final String message;
+
+    TaskValidation(String message) {
+        this.message = message;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
@@ -0,0 +1,40 @@
+package com.astronaut.scheduler;
+
+import java.time.Duration;
+import java.time.LocalTime;
+
+// Half-open time range [start, end) within the day
+public class TimeSlot {
+    private final LocalTime startTime;
+    private final LocalTime endTime;
+
+    public TimeSlot(LocalTime startTime, LocalTime endTime) {
+        if (!startTime.isBefore(endTime)) {
+            throw new IllegalArgumentException("Start time must be before end time.");
+        }
+        this.startTime = startTime;
+        this.endTime = endTime;
+    }
+
+    // From 00:00 to the end of the day
+    public static TimeSlot wholeDay() {
+        return new TimeSlot(LocalTime.MIN, LocalTime.MAX);
+    }
+
+    public LocalTime getStartTime() {
+        return startTime;
+    }
+
+    public LocalTime getEndTime() {
+        return endTime;
+    }
+
+    public Duration getDuration() {
+        return Duration.between(startTime, endTime);
+    }
+
+    @Override
+    public String toString() {
+        return startTime + " - " + endTime;
+    }
+}
@@ -0,0 +1,130 @@
+package com.astronaut.scheduler;
+
+import java.util.function.Consumer;
+
+// Hashed timer wheel: time is counted in ticks, and a timeout due at tick d sits in slot
+// d % slots, in a doubly linked list. Scheduling and cancelling are O(1) whatever the number
+// of pending timeouts; each tick visits one slot. A timeout more than one turn of the wheel
+// away stays in its slot until the tick it is due.
+// Not thread-safe: ReminderEngine uses it from its ticker thread only.
+public class TimerWheel<T> {
+    private final Timeout<T>[] slots;
+    private final int mask;
+    private long currentTick;
+    private int size;
+
+    public TimerWheel(int slotCount, long startTick) {
+        if (slotCount <= 0 || Integer.bitCount(slotCount) != 1) {
+            throw new IllegalArgumentException("The number of slots must be a power of two.");
+        }
+        // Only Timeout<T> objects are ever stored
+        @SuppressWarnings("unchecked")
+        Timeout<T>[] table = (Timeout<T>[]) new Timeout<?>[slotCount];
+        slots = table;
+        mask = slotCount - 1;
+        currentTick = startTick;
+    }
+
+    // The last tick already expired; timeouts must be due after it
+    public long getCurrentTick() {
+        return currentTick;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public Timeout<T> schedule(long deadlineTick, T value) {
+        if (deadlineTick <= currentTick) {
+            throw new IllegalArgumentException("Tick " + deadlineTick + " has already passed.");
+        }
+        Timeout<T> timeout = new Timeout<>(deadlineTick, value);
+        int slot = (int) (deadlineTick & mask);
+        timeout.next = slots[slot];
+        if (timeout.next != null) {
+            timeout.next.prev = timeout;
+        }
+        slots[slot] = timeout;
+        timeout.scheduled = true;
+        size++;
+        return timeout;
+    }
+
+    // Does nothing if the timeout already expired or was cancelled
+    public void cancel(Timeout<T> timeout) {
+        if (!timeout.scheduled) {
+            return;
+        }
+        unlink(timeout);
+        size--;
+    }
+
+    // Expires every timeout due up to and including 'tick', in tick order. 'expired' must not
+    // schedule or cancel on this wheel.
+    public void advanceTo(long tick, Consumer<T> expired) {
+        while (currentTick < tick) {
+            if (size == 0) {
+                currentTick = tick;
+                return;
+            }
+            currentTick++;
+            Timeout<T> timeout = slots[(int) (currentTick & mask)];
+            while (timeout != null) {
+                Timeout<T> next = timeout.next;
+                if (timeout.deadline == currentTick) {
+                    unlink(timeout);
+                    size--;
+                    expired.accept(timeout.value);
+                }
+                timeout = next;
+            }
+        }
+    }
+
+    // Drops every pending timeout and restarts the count at 'tick'
+    public void clear(long tick) {
+        for (int i = 0; i < slots.length; i++) {
+            for (Timeout<T> timeout = slots[i]; timeout != null; timeout = timeout.next) {
+                timeout.scheduled = false;
+            }
+            slots[i] = null;
+        }
+        size = 0;
+        currentTick = tick;
+    }
+
+    private void unlink(Timeout<T> timeout) {
+        if (timeout.prev != null) {
+            timeout.prev.next = timeout.next;
+        } else {
+            slots[(int) (timeout.deadline & mask)] = timeout.next;
+        }
+        if (timeout.next != null) {
+            timeout.next.prev = timeout.prev;
+        }
+        timeout.prev = null;
+        timeout.next = null;
+        timeout.scheduled = false;
+    }
+
+    public static final class Timeout<T> {
+        private final long deadline;
+        private final T value;
+        private Timeout<T> prev;
+        private Timeout<T> next;
+        private boolean scheduled;
+
+        private Timeout(long deadline, T value) {
+            this.deadline = deadline;
+            this.value = value;
+        }
+
+        public long getDeadline() {
+            return deadline;
+        }
+
+        public T getValue() {
+            return value;
+        }
+    }
+}
@@ -1,3 +1,5 @@
+package com.astronaut.scheduler;
+
 public class UserNotification implements Observer {
     @Override
     public void update(String message) {
@@ -0,0 +1,141 @@
+package com.astronaut.scheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+// Each observer gets its messages in order on a shared pool; a full queue drops and counts
+// by default, or waits for room when given a timeout
+class AsyncObserverTest {
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void everyObserverSeesItsMessagesInOrder() throws InterruptedException {
+        List<Recorder> recorders = new ArrayList<>();
+        List<AsyncObserver> observers = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Recorder recorder = new Recorder(new CountDownLatch(0));
+            recorders.add(recorder);
+            observers.add(new AsyncObserver(recorder, executor, 10_000, AsyncObserver.DROP_WHEN_FULL));
+        }
+        for (int m = 0; m < 5_000; m++) {
+            for (AsyncObserver observer : observers) {
+                observer.update("m" + m);
+            }
+        }
+
+        for (int i = 0; i < observers.size(); i++) {
+            recorders.get(i).awaitCount(5_000);
+            assertEquals(messages(0, 5_000), recorders.get(i).received());
+            assertEquals(0, observers.get(i).getDroppedCount());
+        }
+    }
+
+    @Test
+    void fullQueueDropsAndCountsByDefault() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        Recorder recorder = new Recorder(release);
+        AsyncObserver observer = new AsyncObserver(recorder, executor, 4, AsyncObserver.DROP_WHEN_FULL);
+
+        // m0 is taken by the drain task, which then waits; m1 to m4 fill the queue
+        observer.update("m0");
+        recorder.awaitStarted();
+        for (int m = 1; m <= 7; m++) {
+            observer.update("m" + m);
+        }
+        assertEquals(3, observer.getDroppedCount());
+        assertEquals(4, observer.getPendingCount());
+
+        release.countDown();
+        recorder.awaitCount(5);
+        assertEquals(messages(0, 5), recorder.received());
+        assertEquals(3, observer.getDroppedCount());
+    }
+
+    @Test
+    void timeoutWaitsForRoomInsteadOfDropping() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Recorder recorder = new Recorder(release);
+        AsyncObserver observer = new AsyncObserver(recorder, executor, 1, TimeUnit.SECONDS.toMillis(30));
+
+        observer.update("m0");
+        recorder.awaitStarted();
+        observer.update("m1");
+        CompletableFuture<Void> waiting = CompletableFuture.runAsync(() -> observer.update("m2"));
+        // Still waiting for room while the observer is stuck
+        Thread.sleep(100);
+        assertFalse(waiting.isDone());
+
+        release.countDown();
+        waiting.get(30, TimeUnit.SECONDS);
+        recorder.awaitCount(3);
+        assertEquals(messages(0, 3), recorder.received());
+        assertEquals(0, observer.getDroppedCount());
+    }
+
+    private static List<String> messages(int from, int to) {
+        return IntStream.range(from, to).mapToObj(m -> "m" + m).toList();
+    }
+
+    // Records what it receives; each update waits for 'release' first
+    private static class Recorder implements Observer {
+        private final List<String> received = Collections.synchronizedList(new ArrayList<>());
+        private final CountDownLatch started = new CountDownLatch(1);
+        private final CountDownLatch release;
+
+        Recorder(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void update(String message) {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            received.add(message);
+        }
+
+        void awaitStarted() throws InterruptedException {
+            assertTrue(started.await(30, TimeUnit.SECONDS));
+        }
+
+        void awaitCount(int count) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+            while (received.size() < count && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+        }
+
+        List<String> received() {
+            synchronized (received) {
+                return List.copyOf(received);
+            }
+        }
+    }
+}
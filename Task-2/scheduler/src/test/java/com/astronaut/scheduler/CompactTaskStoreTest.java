@@ -0,0 +1,71 @@
+package com.astronaut.scheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class CompactTaskStoreTest {
+    @Test
+    void overlappingAddIsRejectedAndLeavesTheStoreUnchanged() {
+        CompactTaskStore store = new CompactTaskStore();
+        Task eva = task("EVA", 9, 0, 10, 0);
+        store.add(eva);
+
+        assertThrows(IllegalArgumentException.class, () -> store.add(task("Same start", 9, 0, 9, 30)));
+        assertThrows(IllegalArgumentException.class, () -> store.add(task("Inside", 9, 15, 9, 45)));
+        assertThrows(IllegalArgumentException.class, () -> store.add(task("Across", 8, 30, 9, 1)));
+
+        assertEquals(1, store.size());
+        assertEquals(List.of("EVA"), descriptions(store.findOverlapping(LocalTime.of(8, 0), LocalTime.of(11, 0))));
+    }
+
+    @Test
+    void touchingTasksAreAccepted() {
+        CompactTaskStore store = new CompactTaskStore();
+        store.add(task("EVA", 9, 0, 10, 0));
+        store.add(task("Debrief", 10, 0, 11, 0));
+        store.add(task("Prep", 8, 0, 9, 0));
+
+        assertEquals(List.of("Prep", "EVA", "Debrief"), descriptions(store.getTasks()));
+        assertEquals(List.of("EVA", "Debrief"), descriptions(store.findOverlapping(LocalTime.of(9, 30), LocalTime.of(10, 30))));
+    }
+
+    @Test
+    void freeSlotsAtTheEndOfTheDayMatchTheIndexedStore() {
+        List<Task> tasks = List.of(task("Late", 22, 0, 23, 0), task("Later", 23, 30, 23, 59),
+                new Task("Low", LocalTime.of(23, 0), LocalTime.of(23, 30), PriorityLevel.LOW));
+        CompactTaskStore compact = new CompactTaskStore();
+        IndexedTaskStore indexed = new IndexedTaskStore();
+        tasks.forEach(compact::add);
+        tasks.forEach(indexed::add);
+
+        for (Duration length : List.of(Duration.ofSeconds(30), Duration.ofMinutes(1), Duration.ofMinutes(30))) {
+            for (PriorityLevel priority : PriorityLevel.values()) {
+                for (LocalTime from : List.of(LocalTime.of(21, 0), LocalTime.of(23, 59), LocalTime.MIN)) {
+                    assertEquals(slots(indexed.findFreeSlots(from, LocalTime.MAX, length, priority, 10)),
+                            slots(compact.findFreeSlots(from, LocalTime.MAX, length, priority, 10)),
+                            () -> "from " + from + ", at least " + length + ", " + priority);
+                }
+            }
+        }
+        // The free 23:59 minute is reported, ending at LocalTime.MAX
+        assertEquals(List.of("23:59 - " + LocalTime.MAX),
+                slots(compact.findFreeSlots(LocalTime.of(23, 59), LocalTime.MAX, Duration.ofSeconds(30), PriorityLevel.LOW, 10)));
+    }
+
+    private static List<String> slots(List<TimeSlot> slots) {
+        return slots.stream().map(TimeSlot::toString).toList();
+    }
+
+    private static List<String> descriptions(List<Task> tasks) {
+        return tasks.stream().map(Task::getDescription).toList();
+    }
+
+    private static Task task(String description, int startHour, int startMinute, int endHour, int endMinute) {
+        return new Task(description, LocalTime.of(startHour, startMinute), LocalTime.of(endHour, endMinute), PriorityLevel.MEDIUM);
+    }
+}
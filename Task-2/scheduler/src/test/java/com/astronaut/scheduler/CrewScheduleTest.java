@@ -0,0 +1,95 @@
+package com.astronaut.scheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+// One shard per astronaut and day; crew-wide queries, bulk conflict checks and moving a
+// shared task across the shards
+class CrewScheduleTest {
+    private static final LocalDate MONDAY = LocalDate.of(2024, 6, 3);
+    private static final LocalDate TUESDAY = MONDAY.plusDays(1);
+
+    private CrewSchedule crew;
+
+    @BeforeEach
+    void setUp() {
+        crew = new CrewSchedule(IndexedTaskStore::new);
+    }
+
+    @Test
+    void eachAstronautAndDayHasItsOwnSchedule() {
+        ScheduleManager mondayAnna = crew.schedule("Anna", MONDAY);
+        assertSame(mondayAnna, crew.schedule("ANNA", MONDAY));
+        assertNotSame(mondayAnna, crew.schedule("Anna", TUESDAY));
+        assertNotSame(mondayAnna, crew.schedule("Boris", MONDAY));
+
+        // The same slot is free in every other shard
+        mondayAnna.addTask(task("Exercise", 9, 10, PriorityLevel.HIGH));
+        crew.schedule("Boris", MONDAY).addTask(task("Exercise", 9, 10, PriorityLevel.HIGH));
+        crew.schedule("Anna", TUESDAY).addTask(task("Exercise", 9, 10, PriorityLevel.LOW));
+
+        assertEquals(List.of(key("Anna", MONDAY), key("Boris", MONDAY), key("Anna", TUESDAY)),
+                crew.getScheduleKeys(MONDAY, TUESDAY));
+        assertEquals(List.of(key("Anna", MONDAY), key("Boris", MONDAY)),
+                List.copyOf(crew.getTasksByPriority(PriorityLevel.HIGH, MONDAY, TUESDAY).keySet()));
+        assertEquals(List.of(key("Anna", TUESDAY)), crew.getScheduleKeys(TUESDAY, TUESDAY));
+    }
+
+    @Test
+    void proposalsAreCheckedAgainstTheScheduleAndEachOther() {
+        crew.schedule("Anna", MONDAY).addTask(task("Exercise", 9, 10, PriorityLevel.HIGH));
+
+        Task overlapsExercise = task("Repair", 9, 11, PriorityLevel.MEDIUM);
+        Task free = task("Lunch", 12, 13, PriorityLevel.LOW);
+        Task overlapsLunch = task("Call home", 12, 14, PriorityLevel.LOW);
+        Task afterLunch = task("Experiment", 13, 14, PriorityLevel.MEDIUM);
+        Map<ScheduleKey, List<Task>> proposed = new LinkedHashMap<>();
+        proposed.put(key("Anna", MONDAY), List.of(overlapsExercise, free, overlapsLunch, afterLunch));
+        // A schedule that does not exist yet only has the other proposals to conflict with
+        proposed.put(key("Boris", MONDAY), List.of(free, overlapsLunch));
+        proposed.put(key("Boris", TUESDAY), List.of(free, afterLunch));
+
+        assertEquals(Map.of(key("Anna", MONDAY), List.of(overlapsExercise, overlapsLunch),
+                        key("Boris", MONDAY), List.of(overlapsLunch)),
+                crew.findConflicts(proposed));
+        // Nothing was added
+        assertEquals(1, crew.schedule("Anna", MONDAY).getTasks().size());
+    }
+
+    @Test
+    void sharedTaskIsMovedWhereItFitsAndRefusedElsewhere() {
+        for (String astronaut : List.of("Anna", "Boris", "Chen")) {
+            crew.schedule(astronaut, MONDAY).addTask(task("Crew meeting", 8, 9, PriorityLevel.HIGH));
+        }
+        crew.schedule("Boris", MONDAY).addTask(task("Spacewalk prep", 10, 12, PriorityLevel.HIGH));
+        crew.schedule("Anna", TUESDAY).addTask(task("Crew meeting", 8, 9, PriorityLevel.HIGH));
+
+        List<ScheduleKey> refused = crew.rescheduleTask("Crew meeting", MONDAY, LocalTime.of(11, 0));
+
+        assertEquals(List.of(key("Boris", MONDAY)), refused);
+        assertEquals(LocalTime.of(11, 0), crew.schedule("Anna", MONDAY).getTask("Crew meeting").getStartTime());
+        assertEquals(LocalTime.of(11, 0), crew.schedule("Chen", MONDAY).getTask("Crew meeting").getStartTime());
+        assertEquals(LocalTime.of(8, 0), crew.schedule("Boris", MONDAY).getTask("Crew meeting").getStartTime());
+        // Other days are left alone
+        assertEquals(LocalTime.of(8, 0), crew.schedule("Anna", TUESDAY).getTask("Crew meeting").getStartTime());
+        assertTrue(crew.rescheduleTask("Crew meeting", TUESDAY, LocalTime.of(9, 0)).isEmpty());
+    }
+
+    private static ScheduleKey key(String astronaut, LocalDate date) {
+        return new ScheduleKey(astronaut, date);
+    }
+
+    private static Task task(String description, int startHour, int endHour, PriorityLevel priority) {
+        return new Task(description, LocalTime.of(startHour, 0), LocalTime.of(endHour, 0), priority);
+    }
+}
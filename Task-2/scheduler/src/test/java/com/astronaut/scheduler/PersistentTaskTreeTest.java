@@ -0,0 +1,194 @@
+package com.astronaut.scheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+// The tree stays AVL-balanced, an update copies only its path and shares the rest, and a
+// diff reports exactly what changed between two versions
+class PersistentTaskTreeTest {
+    private static final int SIZE = 1_000;
+
+    @Test
+    void staysBalancedWhateverTheOrder() {
+        List<Integer> ascending = IntStream.range(0, SIZE).boxed().toList();
+        List<Integer> descending = new ArrayList<>(ascending);
+        Collections.reverse(descending);
+        List<Integer> shuffled = new ArrayList<>(ascending);
+        Collections.shuffle(shuffled, new Random(42));
+
+        for (List<Integer> order : List.of(ascending, descending, shuffled)) {
+            PersistentTaskTree tree = PersistentTaskTree.EMPTY;
+            for (int i : order) {
+                tree = tree.with(task(i));
+                assertBalanced(tree);
+            }
+            assertEquals(descriptions(IntStream.range(0, SIZE)), descriptionsOf(tree));
+
+            // Removing every other task, in the same order, keeps it balanced too
+            for (int i : order) {
+                if (i % 2 == 1) {
+                    tree = tree.without(task(i));
+                    assertBalanced(tree);
+                }
+            }
+            assertEquals(descriptions(IntStream.range(0, SIZE).filter(i -> i % 2 == 0)), descriptionsOf(tree));
+        }
+    }
+
+    @Test
+    void updateCopiesOnlyItsPath() {
+        PersistentTaskTree original = tree(0, SIZE);
+        List<Task> before = List.copyOf(original.asList());
+
+        PersistentTaskTree added = original.with(task(SIZE));
+        PersistentTaskTree removed = original.without(task(SIZE / 2));
+        PersistentTaskTree replaced = original.with(completed(task(SIZE / 3)));
+
+        // A path from the root, plus the few nodes a rebalance creates at each level
+        assertTrue(added.nodesNotIn(original) <= 3 * added.height(), () -> added.nodesNotIn(original) + " new nodes");
+        assertTrue(removed.nodesNotIn(original) <= 3 * original.height(), () -> removed.nodesNotIn(original) + " new nodes");
+        assertTrue(replaced.nodesNotIn(original) <= original.height());
+        assertEquals(SIZE + 1, added.size());
+        assertEquals(SIZE - 1, removed.size());
+        assertEquals(SIZE, replaced.size());
+        assertTrue(replaced.get(SIZE / 3).isCompleted());
+        // The original is untouched and removing an absent task changes nothing
+        assertEquals(before, original.asList());
+        assertSame(original, original.without(task(SIZE + 5)));
+    }
+
+    @Test
+    void diffReportsChangesInOrder() {
+        PersistentTaskTree before = tree(0, 100);
+        Task changed = completed(task(40));
+        PersistentTaskTree after = before.without(task(10)).with(task(150)).with(changed).with(task(5, "extra"));
+
+        List<String> changes = new ArrayList<>();
+        PersistentTaskTree.diff(before, after, recorder(changes));
+        assertEquals(List.of("added extra", "removed task-10", "changed task-40", "added task-150"), changes);
+
+        changes.clear();
+        PersistentTaskTree.diff(after, after, recorder(changes));
+        assertEquals(List.of(), changes);
+
+        changes.clear();
+        PersistentTaskTree.diff(PersistentTaskTree.EMPTY, tree(0, 3), recorder(changes));
+        assertEquals(List.of("added task-0", "added task-1", "added task-2"), changes);
+    }
+
+    @Test
+    void diffMatchesAFullComparison() {
+        Random random = new Random(7);
+        PersistentTaskTree tree = tree(0, SIZE);
+        for (int round = 0; round < 50; round++) {
+            PersistentTaskTree before = tree;
+            for (int change = random.nextInt(20); change >= 0; change--) {
+                int i = random.nextInt(SIZE * 2);
+                switch (random.nextInt(3)) {
+                    case 0 -> tree = tree.with(task(i));
+                    case 1 -> tree = tree.without(task(i));
+                    default -> tree = tree.with(completed(task(i)));
+                }
+            }
+
+            List<String> changes = new ArrayList<>();
+            PersistentTaskTree.diff(before, tree, recorder(changes));
+            assertEquals(fullComparison(before.asList(), tree.asList()), changes, "round " + round);
+        }
+    }
+
+    private static void assertBalanced(PersistentTaskTree tree) {
+        // The AVL bound on height for n nodes
+        double bound = 1.4405 * Math.log(tree.size() + 2) / Math.log(2) - 0.3277;
+        assertTrue(tree.height() <= bound, () -> "height " + tree.height() + " for " + tree.size() + " tasks");
+    }
+
+    // Every task of both lists, compared one by one
+    private static List<String> fullComparison(List<Task> before, List<Task> after) {
+        TreeMap<String, Task[]> byKey = new TreeMap<>();
+        for (Task task : before) {
+            byKey.computeIfAbsent(key(task), k -> new Task[2])[0] = task;
+        }
+        for (Task task : after) {
+            byKey.computeIfAbsent(key(task), k -> new Task[2])[1] = task;
+        }
+        List<String> changes = new ArrayList<>();
+        for (Task[] pair : byKey.values()) {
+            if (pair[1] == null) {
+                changes.add("removed " + pair[0].getDescription());
+            } else if (pair[0] == null) {
+                changes.add("added " + pair[1].getDescription());
+            } else if (pair[0].isCompleted() != pair[1].isCompleted()) {
+                changes.add("changed " + pair[1].getDescription());
+            }
+        }
+        return changes;
+    }
+
+    // Start time then description, as the tree orders them
+    private static String key(Task task) {
+        return String.format("%015d %s", task.getStartTime().toNanoOfDay(), task.getDescription().toLowerCase(Locale.ROOT));
+    }
+
+    private static PersistentTaskTree.DiffVisitor recorder(List<String> changes) {
+        return new PersistentTaskTree.DiffVisitor() {
+            @Override
+            public void added(Task task) {
+                changes.add("added " + task.getDescription());
+            }
+
+            @Override
+            public void removed(Task task) {
+                changes.add("removed " + task.getDescription());
+            }
+
+            @Override
+            public void changed(Task before, Task after) {
+                changes.add("changed " + after.getDescription());
+            }
+        };
+    }
+
+    private static PersistentTaskTree tree(int from, int to) {
+        PersistentTaskTree tree = PersistentTaskTree.EMPTY;
+        for (int i = from; i < to; i++) {
+            tree = tree.with(task(i));
+        }
+        return tree;
+    }
+
+    private static List<String> descriptionsOf(PersistentTaskTree tree) {
+        return tree.asList().stream().map(Task::getDescription).toList();
+    }
+
+    private static List<String> descriptions(IntStream indexes) {
+        return indexes.mapToObj(i -> "task-" + i).toList();
+    }
+
+    // Task i starts i seconds into the day and lasts one second; equal tasks are equal copies
+    private static Task task(int i) {
+        return task(i, "task-" + i);
+    }
+
+    private static Task task(int i, String description) {
+        LocalTime start = LocalTime.ofSecondOfDay(i);
+        return new Task(description, start, start.plusSeconds(1), PriorityLevel.MEDIUM);
+    }
+
+    private static Task completed(Task task) {
+        Task copy = new Task(task.getDescription(), task.getStartTime(), task.getEndTime(), task.getPriority());
+        copy.setCompleted(true);
+        return copy;
+    }
+}
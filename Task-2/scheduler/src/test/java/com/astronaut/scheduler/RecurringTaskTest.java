@@ -0,0 +1,36 @@
+package com.astronaut.scheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.time.LocalTime;
+import org.junit.jupiter.api.Test;
+
+class RecurringTaskTest {
+    @Test
+    void lastStartBeforeFirstStartIsRejected() {
+        // Less than one interval before the first start; truncating division would give one occurrence
+        assertThrows(IllegalArgumentException.class, () -> rule(LocalTime.of(10, 0), LocalTime.of(9, 30), 60));
+        assertThrows(IllegalArgumentException.class, () -> rule(LocalTime.of(10, 0), LocalTime.of(9, 59, 59), 60));
+    }
+
+    @Test
+    void occurrencesStartNoLaterThanLastStart() {
+        assertEquals(1, rule(LocalTime.of(10, 0), LocalTime.of(10, 0), 60).getCount());
+        assertEquals(1, rule(LocalTime.of(10, 0), LocalTime.of(10, 59), 60).getCount());
+        RecurringTask rule = rule(LocalTime.of(8, 0), LocalTime.of(20, 0), 90);
+        assertEquals(9, rule.getCount());
+        assertEquals(LocalTime.of(20, 0), rule.getLastStart());
+    }
+
+    @Test
+    void factoryReportsLastStartBeforeFirstStart() {
+        assertThrows(InvalidTimeException.class,
+                () -> TaskFactory.createRecurringTask("Comms", "10:00", "10:20", "60", "09:30", "high"));
+    }
+
+    private static RecurringTask rule(LocalTime first, LocalTime last, int everyMinutes) {
+        return new RecurringTask("Comms", first, last, Duration.ofMinutes(20), Duration.ofMinutes(everyMinutes), PriorityLevel.HIGH);
+    }
+}
@@ -0,0 +1,153 @@
+package com.astronaut.scheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+// Drives the engine with a clock moved by hand, so nothing waits in real time
+class ReminderEngineTest {
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 1);
+
+    private ManualClock clock;
+    private ScheduleManager manager;
+    private ReminderEngine engine;
+    private List<String> messages;
+
+    @BeforeEach
+    void setUp() {
+        clock = new ManualClock(DAY.atTime(8, 0));
+        manager = new ScheduleManager();
+        engine = new ReminderEngine(manager, clock, Duration.ofMinutes(10));
+        messages = new ArrayList<>();
+        engine.addObserver(messages::add);
+    }
+
+    @Test
+    void remindsBeforeAndAtTheStart() {
+        manager.addTask(task("EVA prep", 9, 0, 10, 0));
+        engine.tick();
+        assertEquals(2, engine.getPendingCount());
+
+        advanceTo(8, 49, 59);
+        assertEquals(List.of(), messages);
+        advanceTo(8, 50, 0);
+        assertEquals(List.of("Reminder: 'EVA prep' starts at 09:00 (in 10 minutes)."), messages);
+        advanceTo(9, 0, 0);
+        assertEquals("Task 'EVA prep' starts now (09:00 - 10:00).", messages.get(1));
+        assertEquals(0, engine.getPendingCount());
+    }
+
+    @Test
+    void followsMovesRemovalsAndCompletion() {
+        manager.addTask(task("EVA prep", 9, 0, 10, 0));
+        manager.addTask(task("Meal", 12, 0, 12, 30));
+        manager.addTask(task("Exercise", 14, 0, 15, 0));
+        engine.tick();
+        assertEquals(6, engine.getPendingCount());
+
+        manager.rescheduleTask("EVA prep", LocalTime.of(10, 0));
+        manager.removeTask("Meal");
+        manager.markTaskAsCompleted("Exercise");
+        engine.tick();
+        assertEquals(2, engine.getPendingCount());
+
+        advanceTo(16, 0, 0);
+        assertEquals(List.of("Reminder: 'EVA prep' starts at 10:00 (in 10 minutes).",
+                "Task 'EVA prep' starts now (10:00 - 11:00)."), messages);
+    }
+
+    @Test
+    void remindersAlreadyPastAreNotDelivered() {
+        clock.set(DAY.atTime(9, 55));
+        manager.addTask(task("EVA prep", 9, 0, 10, 0));
+        manager.addTask(task("Late", 10, 0, 10, 30));
+        engine.tick();
+        // The 09:50 reminder of 'Late' has passed; only its start is left
+        assertEquals(1, engine.getPendingCount());
+        advanceTo(10, 0, 0);
+        assertEquals(List.of("Task 'Late' starts now (10:00 - 10:30)."), messages);
+    }
+
+    @Test
+    void remindsEveryRemainingOccurrenceOfARecurringTask() {
+        manager.addRecurringTask(new RecurringTask("Comms", LocalTime.of(8, 30), LocalTime.of(11, 30),
+                Duration.ofMinutes(20), Duration.ofMinutes(90), PriorityLevel.HIGH));
+        manager.skipOccurrence("Comms", LocalTime.of(10, 0));
+        engine.tick();
+        // 08:30 and 11:30 remain, each with a reminder and a start
+        assertEquals(4, engine.getPendingCount());
+        advanceTo(12, 0, 0);
+        assertEquals(List.of("Reminder: 'Comms' starts at 08:30 (in 10 minutes).",
+                "Task 'Comms' starts now (08:30 - 08:50).",
+                "Reminder: 'Comms' starts at 11:30 (in 10 minutes).",
+                "Task 'Comms' starts now (11:30 - 11:50)."), messages);
+    }
+
+    @Test
+    void setsUpTheRemindersAgainAfterMidnight() {
+        manager.addTask(task("EVA prep", 9, 0, 10, 0));
+        advanceTo(23, 0, 0);
+        assertEquals(2, messages.size());
+        assertEquals(0, engine.getPendingCount());
+
+        clock.set(DAY.plusDays(1).atTime(0, 0, 1));
+        engine.tick();
+        assertEquals(2, engine.getPendingCount());
+        clock.set(DAY.plusDays(1).atTime(9, 0));
+        engine.tick();
+        assertEquals(4, messages.size());
+    }
+
+    // One tick per second up to the given time, as the ticker thread would run
+    private void advanceTo(int hour, int minute, int second) {
+        LocalDateTime target = DAY.atTime(hour, minute, second);
+        LocalDateTime now = LocalDateTime.now(clock);
+        while (now.isBefore(target)) {
+            now = now.plusSeconds(1).isAfter(target) ? target : now.plusSeconds(1);
+            clock.set(now);
+            engine.tick();
+        }
+    }
+
+    private static Task task(String description, int startHour, int startMinute, int endHour, int endMinute) {
+        return new Task(description, LocalTime.of(startHour, startMinute), LocalTime.of(endHour, endMinute), PriorityLevel.MEDIUM);
+    }
+
+    private static final class ManualClock extends Clock {
+        private Instant instant;
+
+        ManualClock(LocalDateTime time) {
+            set(time);
+        }
+
+        void set(LocalDateTime time) {
+            instant = time.toInstant(ZoneOffset.UTC);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
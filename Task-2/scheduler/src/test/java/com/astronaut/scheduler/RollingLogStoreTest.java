@@ -0,0 +1,230 @@
+package com.astronaut.scheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+// Queries across segments, and reopening the last segment after a crash left its three files
+// out of step with each other
+class RollingLogStoreTest {
+    // Every line is 9 bytes, so a segment rolls over after 10 lines
+    private static final long SEGMENT_SIZE = 90;
+    private static final int LINES_PER_SEGMENT = 10;
+    private static final LocalDateTime START = LocalDateTime.of(2024, 6, 3, 8, 0);
+    private static final String FIRST = "scheduler-000001";
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void pagesRunAcrossSegments() throws IOException {
+        RollingLogStore store = open(100);
+        append(store, 0, 45);
+
+        // Page 1 ends exactly at the end of the second segment
+        assertPage(lines(0, 20), true, store.query(query(null, null, 1)));
+        assertPage(lines(20, 40), true, store.query(query(null, null, 2)));
+        assertPage(lines(40, 45), false, store.query(query(null, null, 3)));
+        assertPage(List.of(), false, store.query(query(null, null, 4)));
+        store.close();
+    }
+
+    @Test
+    void lastFullPageHasNoMore() throws IOException {
+        RollingLogStore store = open(100);
+        append(store, 0, 40);
+
+        assertPage(lines(20, 40), false, store.query(query(null, null, 2)));
+        store.close();
+    }
+
+    @Test
+    void sinceStartsAtTheFirstLineAtOrAfterIt() throws IOException {
+        RollingLogStore store = open(100);
+        append(store, 0, 45);
+
+        // Line i is logged i minutes after START; 23 is in the third segment
+        assertPage(lines(23, 43), true, store.query(query(null, START.plusMinutes(23), 1)));
+        assertPage(lines(23, 43), true, store.query(query(null, START.plusMinutes(22).plusSeconds(30), 1)));
+        // At a segment's first line
+        assertPage(lines(30, 45), false, store.query(query(null, START.plusMinutes(30), 1)));
+        assertPage(lines(0, 20), true, store.query(query(null, START.minusDays(1), 1)));
+        assertPage(List.of(), false, store.query(query(null, START.plusMinutes(45), 1)));
+        store.close();
+    }
+
+    @Test
+    void taskAndLevelFiltersSkipOtherLines() throws IOException {
+        RollingLogStore store = open(100);
+        for (int i = 0; i < 45; i++) {
+            // EVA prep on every fifth line; every other line is a warning
+            String task = i % 5 == 0 ? "EVA prep" : "Meal " + (i % 3);
+            store.append(record(i, i % 2 == 0 ? Level.WARNING : Level.INFO, "Task '{0}' changed.", task), line(i));
+        }
+        store.flush();
+
+        List<String> eva = IntStream.range(0, 45).filter(i -> i % 5 == 0).mapToObj(RollingLogStoreTest::text).toList();
+        assertPage(eva, false, store.query(query(null, null, 1, "eva")));
+        List<String> evaWarnings = IntStream.range(0, 45).filter(i -> i % 10 == 0).mapToObj(RollingLogStoreTest::text).toList();
+        assertPage(evaWarnings, false, store.query(query(Level.WARNING, null, 1, "EVA")));
+        assertPage(List.of(), false, store.query(query(null, null, 1, "spacewalk")));
+        store.close();
+    }
+
+    @Test
+    void taskIsTakenFromTheFirstParameterAfterTheWordTask() {
+        assertEquals("EVA prep", RollingLogStore.taskOf(record(0, Level.INFO, "Task '{0}' added.", "EVA prep")));
+        assertEquals("EVA prep", RollingLogStore.taskOf(record(0, Level.INFO, "Failed to add task '{0}': {1}", "EVA prep")));
+        assertNull(RollingLogStore.taskOf(record(0, Level.INFO, "Imported '{0}'.", "tasks.csv")));
+        assertNull(RollingLogStore.taskOf(record(0, Level.INFO, "Task '{0}' added.", 42)));
+        assertNull(RollingLogStore.taskOf(new LogRecord(Level.INFO, "Task '{0}' added.")));
+    }
+
+    @Test
+    void tornIndexEntryIsDroppedOnReopen() throws IOException {
+        RollingLogStore store = open(100);
+        append(store, 0, 5);
+        store.close();
+        Path index = directory.resolve(FIRST + ".idx");
+        cut(index, Files.size(index) - 5);
+
+        RollingLogStore reopened = open(100);
+        append(reopened, 5, 6);
+        List<String> expected = new ArrayList<>(lines(0, 4));
+        expected.add(text(5));
+        assertPage(expected, false, reopened.query(query(null, null, 1)));
+        reopened.close();
+    }
+
+    @Test
+    void indexEntriesForLostLinesAreDroppedOnReopen() throws IOException {
+        RollingLogStore store = open(100);
+        append(store, 0, 5);
+        store.close();
+        // The index reached the disk, the last two lines did not
+        Path log = directory.resolve(FIRST + ".log");
+        cut(log, 3 * 9 + 4);
+
+        RollingLogStore reopened = open(100);
+        append(reopened, 5, 6);
+        // Without the repair, entries 3 and 4 would point into the new line
+        List<String> expected = new ArrayList<>(lines(0, 3));
+        expected.add(text(5));
+        assertPage(expected, false, reopened.query(query(null, null, 1)));
+        reopened.close();
+    }
+
+    @Test
+    void tornTaskNameIsDroppedAndItsIdNotReused() throws IOException {
+        RollingLogStore store = open(100);
+        store.append(record(0, Level.INFO, "Task '{0}' added.", "Meal"), line(0));
+        store.append(record(1, Level.INFO, "Task '{0}' added.", "Exercise"), line(1));
+        store.close();
+        Path tasks = directory.resolve(FIRST + ".tasks");
+        // Half of "Exercise", the second name
+        cut(tasks, 4 + "Meal".length() + 4 + 3);
+
+        RollingLogStore reopened = open(100);
+        reopened.append(record(2, Level.INFO, "Task '{0}' added.", "Repair"), line(2));
+        reopened.flush();
+        // The entry for Exercise named a task id that Repair now has
+        assertPage(List.of(text(2)), false, reopened.query(query(null, null, 1, "Repair")));
+        assertPage(List.of(text(0)), false, reopened.query(query(null, null, 1, "Meal")));
+        assertPage(List.of(), false, reopened.query(query(null, null, 1, "Exercise")));
+        assertPage(List.of(text(0), text(2)), false, reopened.query(query(null, null, 1)));
+        reopened.close();
+    }
+
+    @Test
+    void retentionKeepsTheNewestSegments() throws IOException {
+        RollingLogStore store = open(2);
+        append(store, 0, 45);
+
+        assertEquals(List.of("scheduler-000004.log", "scheduler-000005.log"), logFiles());
+        assertPage(lines(30, 45), false, store.query(query(null, null, 1)));
+        store.close();
+    }
+
+    @Test
+    void segmentBeingDeletedIsSkipped() throws IOException {
+        RollingLogStore store = open(100);
+        append(store, 0, 25);
+        // Retention deletes the index first, then the names and the log
+        Files.delete(directory.resolve(FIRST + ".idx"));
+
+        assertPage(lines(10, 25), false, store.query(query(null, null, 1)));
+        store.close();
+    }
+
+    private RollingLogStore open(int maxSegments) throws IOException {
+        return new RollingLogStore(directory, SEGMENT_SIZE, maxSegments);
+    }
+
+    // Lines [from, to), line i logged i minutes after START; flushed, as queries only see
+    // what the writer flushed
+    private static void append(RollingLogStore store, int from, int to) throws IOException {
+        for (int i = from; i < to; i++) {
+            store.append(record(i, Level.INFO, "Line {0}", i), line(i));
+        }
+        store.flush();
+    }
+
+    private static LogRecord record(int minute, Level level, String message, Object parameter) {
+        LogRecord record = new LogRecord(level, message);
+        record.setParameters(new Object[] {parameter});
+        record.setInstant(START.plusMinutes(minute).atZone(ZoneId.systemDefault()).toInstant());
+        return record;
+    }
+
+    private static LogQuery query(Level level, LocalDateTime since, int page) {
+        return query(level, since, page, null);
+    }
+
+    private static LogQuery query(Level level, LocalDateTime since, int page, String task) {
+        return new LogQuery(level, since, task, page);
+    }
+
+    private static void assertPage(List<String> expected, boolean hasMore, LogQuery.Result result) {
+        assertEquals(expected, result.getLines());
+        assertEquals(hasMore, result.hasMore());
+    }
+
+    private static void cut(Path file, long length) throws IOException {
+        Files.write(file, Arrays.copyOf(Files.readAllBytes(file), (int) length));
+    }
+
+    private List<String> logFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(f -> f.getFileName().toString()).filter(n -> n.endsWith(".log")).sorted().toList();
+        }
+    }
+
+    private static List<String> lines(int from, int to) {
+        return IntStream.range(from, to).mapToObj(RollingLogStoreTest::text).toList();
+    }
+
+    private static String line(int i) {
+        return text(i) + "\n";
+    }
+
+    private static String text(int i) {
+        return String.format("line-%03d", i);
+    }
+}
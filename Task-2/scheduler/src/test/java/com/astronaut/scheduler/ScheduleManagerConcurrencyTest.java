@@ -0,0 +1,140 @@
+package com.astronaut.scheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+
+// Writers add and remove their own tasks at the same time while readers take views; every
+// change must land exactly once and every view must be a consistent schedule
+class ScheduleManagerConcurrencyTest {
+    private static final int WRITERS = 8;
+    private static final int READERS = 4;
+    // Each writer owns one eighth of the day, so writers never conflict with each other; its
+    // one-minute tasks fill most of it
+    private static final int MINUTES_PER_WRITER = 24 * 60 / WRITERS;
+    private static final int TASKS_PER_WRITER = 150;
+
+    @Test
+    void concurrentWritersOnIndexedStore() throws Exception {
+        runWriters(IndexedTaskStore::new);
+    }
+
+    @Test
+    void concurrentWritersOnCompactStore() throws Exception {
+        runWriters(CompactTaskStore::new);
+    }
+
+    private static void runWriters(Supplier<TaskStore> storeFactory) throws Exception {
+        ScheduleManager manager = new ScheduleManager(storeFactory.get(), new ScheduleStats(),
+                new PrintStream(OutputStream.nullOutputStream()));
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS + READERS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int w = 0; w < WRITERS; w++) {
+                int writer = w;
+                writers.add(executor.submit(() -> {
+                    start.await();
+                    write(manager, writer);
+                    return null;
+                }));
+            }
+            List<Future<?>> readers = new ArrayList<>();
+            for (int r = 0; r < READERS; r++) {
+                readers.add(executor.submit(() -> {
+                    start.await();
+                    do {
+                        assertConsistent(manager.getTasks());
+                        assertConsistent(manager.getTasksBetween(LocalTime.of(6, 0), LocalTime.of(18, 0)));
+                        manager.getTask("writer-0-0");
+                    } while (writing.get());
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> writer : writers) {
+                writer.get(60, TimeUnit.SECONDS);
+            }
+            writing.set(false);
+            for (Future<?> reader : readers) {
+                reader.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Set<String> expected = new HashSet<>();
+        for (int w = 0; w < WRITERS; w++) {
+            for (int i = 0; i < TASKS_PER_WRITER; i += 2) {
+                expected.add(description(w, i));
+            }
+        }
+        List<Task> tasks = manager.getTasks();
+        assertConsistent(tasks);
+        assertEquals(expected.size(), tasks.size());
+        Set<String> actual = new HashSet<>();
+        for (Task t : tasks) {
+            actual.add(t.getDescription());
+        }
+        assertEquals(expected, actual);
+        for (int w = 0; w < WRITERS; w++) {
+            for (int i = 0; i < TASKS_PER_WRITER; i++) {
+                Task task = manager.getTask(description(w, i));
+                if (i % 2 == 0) {
+                    assertNotNull(task);
+                    assertEquals(i % 4 == 0, task.isCompleted());
+                } else {
+                    assertNull(task);
+                }
+            }
+        }
+    }
+
+    // Adds the writer's tasks, removes every odd one and marks every fourth as completed,
+    // interleaved so removals and marks run while other writers are still adding
+    private static void write(ScheduleManager manager, int writer) {
+        for (int i = 0; i < TASKS_PER_WRITER; i++) {
+            int minute = writer * MINUTES_PER_WRITER + i;
+            LocalTime start = LocalTime.of(minute / 60, minute % 60);
+            manager.addTask(new Task(description(writer, i), start, start.plusMinutes(1), PriorityLevel.MEDIUM));
+            if (i % 2 == 1) {
+                manager.removeTask(description(writer, i));
+            } else if (i % 4 == 0) {
+                manager.markTaskAsCompleted(description(writer, i));
+            }
+        }
+    }
+
+    // In start-time order and without overlaps, as every published version must be
+    private static void assertConsistent(List<Task> tasks) {
+        for (int i = 1; i < tasks.size(); i++) {
+            Task previous = tasks.get(i - 1);
+            Task current = tasks.get(i);
+            assertTrue(previous.getStartTime().isBefore(current.getStartTime()), () -> previous + " before " + current);
+            assertFalse(previous.getEndTime().isAfter(current.getStartTime()), () -> previous + " overlaps " + current);
+        }
+    }
+
+    private static String description(int writer, int i) {
+        return "writer-" + writer + "-" + i;
+    }
+}
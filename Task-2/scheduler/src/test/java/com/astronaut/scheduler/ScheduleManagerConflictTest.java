@@ -0,0 +1,110 @@
+package com.astronaut.scheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+// The conflict policy is asked without the write lock held, and an override only goes ahead
+// if nothing it depends on changed while the policy decided
+class ScheduleManagerConflictTest {
+    private ByteArrayOutputStream output;
+    private ScheduleManager manager;
+
+    @BeforeEach
+    void setUp() {
+        output = new ByteArrayOutputStream();
+        manager = new ScheduleManager(new IndexedTaskStore(), new ScheduleStats(),
+                new PrintStream(output, true, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void otherWritersRunWhileThePolicyDecides() {
+        manager.addTask(task("Meal", 12, 0, 12, 30, PriorityLevel.LOW));
+        // Would time out if the policy were called under the write lock
+        manager.addTask(task("EVA prep", 12, 0, 13, 0, PriorityLevel.HIGH),
+                whileDeciding(m -> m.addTask(task("Exercise", 14, 0, 15, 0, PriorityLevel.MEDIUM))));
+
+        assertEquals(List.of("EVA prep", "Exercise"), descriptions());
+        assertTrue(printed().contains("Existing tasks overridden. New task added."));
+    }
+
+    @Test
+    void overrideIsDroppedIfTheConflictsChanged() {
+        manager.addTask(task("Meal", 12, 0, 12, 30, PriorityLevel.LOW));
+        manager.addTask(task("EVA prep", 12, 0, 13, 0, PriorityLevel.HIGH),
+                whileDeciding(m -> m.addTask(task("Briefing", 12, 30, 13, 0, PriorityLevel.HIGH))));
+
+        assertEquals(List.of("Meal", "Briefing"), descriptions());
+        assertTrue(printed().contains("The schedule changed while the conflict was being decided. Task not added."));
+        assertEquals(1, manager.getStats().getRejectedCount());
+        assertEquals(0, manager.getStats().getOverrideCount());
+    }
+
+    @Test
+    void overrideIsDroppedIfTheDescriptionWasTaken() {
+        manager.addTask(task("Meal", 12, 0, 12, 30, PriorityLevel.LOW));
+        manager.addTask(task("EVA prep", 12, 0, 13, 0, PriorityLevel.HIGH),
+                whileDeciding(m -> m.addTask(task("EVA prep", 16, 0, 17, 0, PriorityLevel.LOW))));
+
+        assertEquals(List.of("Meal", "EVA prep"), descriptions());
+        assertEquals(LocalTime.of(16, 0), manager.getTask("EVA prep").getStartTime());
+    }
+
+    @Test
+    void editKeepsTheOriginalIfItChangedWhileThePolicyDecided() {
+        manager.addTask(task("Meal", 12, 0, 12, 30, PriorityLevel.LOW));
+        manager.addTask(task("Drill", 8, 0, 9, 0, PriorityLevel.HIGH));
+        manager.setConflictPolicy(whileDeciding(m -> m.markTaskAsCompleted("Drill")));
+        manager.editTask("Drill", task("EVA drill", 12, 0, 13, 0, PriorityLevel.HIGH));
+
+        assertEquals(List.of("Drill", "Meal"), descriptions());
+        assertTrue(manager.getTask("Drill").isCompleted());
+        assertTrue(printed().contains("Task not edited. The original task was kept."));
+    }
+
+    @Test
+    void editOverridesWhenNothingChanged() {
+        manager.addTask(task("Meal", 12, 0, 12, 30, PriorityLevel.LOW));
+        manager.addTask(task("Drill", 8, 0, 9, 0, PriorityLevel.HIGH));
+        manager.setConflictPolicy(ConflictPolicy.ALWAYS_OVERRIDE);
+        manager.editTask("Drill", task("EVA drill", 12, 0, 13, 0, PriorityLevel.HIGH));
+
+        assertEquals(List.of("EVA drill"), descriptions());
+        assertFalse(printed().contains("Task not edited."));
+        // The edit is undone as one change, bringing back both tasks
+        manager.undo();
+        assertEquals(List.of("Drill", "Meal"), descriptions());
+    }
+
+    // Overrides after running 'change' on another thread, as a concurrent client would
+    private ConflictPolicy whileDeciding(Consumer<ScheduleManager> change) {
+        return (newTask, conflictingTasks) -> {
+            CompletableFuture.runAsync(() -> change.accept(manager)).orTimeout(5, TimeUnit.SECONDS).join();
+            return ConflictPolicy.Resolution.OVERRIDE;
+        };
+    }
+
+    private List<String> descriptions() {
+        return manager.getTasks().stream().map(Task::getDescription).toList();
+    }
+
+    private String printed() {
+        return output.toString(StandardCharsets.UTF_8);
+    }
+
+    private static Task task(String description, int startHour, int startMinute, int endHour, int endMinute,
+                             PriorityLevel priority) {
+        return new Task(description, LocalTime.of(startHour, startMinute), LocalTime.of(endHour, endMinute), priority);
+    }
+}
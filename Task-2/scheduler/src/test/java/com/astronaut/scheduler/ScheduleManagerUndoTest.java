@@ -0,0 +1,95 @@
+package com.astronaut.scheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+// Undo keeps the versions of the last 100 changes; redo lasts until the next change
+class ScheduleManagerUndoTest {
+    private static final int UNDO_LIMIT = 100;
+
+    private ScheduleManager manager;
+
+    @BeforeEach
+    void setUp() {
+        manager = new ScheduleManager(new IndexedTaskStore(), new ScheduleStats(),
+                new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    @Test
+    void onlyTheLast100ChangesCanBeUndone() {
+        int changes = UNDO_LIMIT + 5;
+        for (int i = 0; i < changes; i++) {
+            manager.addTask(task(i));
+        }
+
+        for (int i = changes - 1; i >= changes - UNDO_LIMIT; i--) {
+            List<TaskChange> undone = manager.undo();
+            assertEquals(1, undone.size());
+            assertEquals(TaskChange.Kind.REMOVED, undone.get(0).getKind());
+            assertEquals("task-" + i, undone.get(0).getBefore().getDescription());
+        }
+        assertTrue(manager.undo().isEmpty());
+        assertEquals(descriptions(0, changes - UNDO_LIMIT), descriptionsOf(manager));
+
+        // Everything undone can be redone
+        for (int i = 0; i < UNDO_LIMIT; i++) {
+            assertFalse(manager.redo().isEmpty());
+        }
+        assertTrue(manager.redo().isEmpty());
+        assertEquals(descriptions(0, changes), descriptionsOf(manager));
+    }
+
+    @Test
+    void newChangeClearsRedo() {
+        manager.addTask(task(0));
+        manager.addTask(task(1));
+        manager.addTask(task(2));
+        manager.undo();
+        manager.undo();
+
+        manager.markTaskAsCompleted("task-0");
+        assertTrue(manager.redo().isEmpty());
+        assertEquals(List.of("task-0"), descriptionsOf(manager));
+
+        // The mark itself can still be undone, and then redone
+        manager.undo();
+        assertFalse(manager.getTask("task-0").isCompleted());
+        manager.redo();
+        assertTrue(manager.getTask("task-0").isCompleted());
+    }
+
+    @Test
+    void changeThatChangesNothingKeepsRedo() {
+        manager.addTask(task(0));
+        manager.addTask(task(1));
+        manager.undo();
+
+        // Rejected: the description is taken
+        manager.addTask(task(0));
+        manager.redo();
+        assertEquals(List.of("task-0", "task-1"), descriptionsOf(manager));
+    }
+
+    private static List<String> descriptionsOf(ScheduleManager manager) {
+        return manager.getTasks().stream().map(Task::getDescription).toList();
+    }
+
+    private static List<String> descriptions(int from, int to) {
+        return IntStream.range(from, to).mapToObj(i -> "task-" + i).toList();
+    }
+
+    // Task i takes minute i of the day
+    private static Task task(int i) {
+        LocalTime start = LocalTime.of(i / 60, i % 60);
+        return new Task("task-" + i, start, start.plusMinutes(1), PriorityLevel.MEDIUM);
+    }
+}
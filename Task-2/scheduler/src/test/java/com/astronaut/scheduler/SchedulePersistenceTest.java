@@ -0,0 +1,232 @@
+package com.astronaut.scheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+// Startup after a crash: a torn last record, a corrupt record, a damaged or missing earlier
+// segment and an old snapshot format
+class SchedulePersistenceTest {
+    private static final int RECORDS = 5;
+    private static final String SEGMENT = "journal-0000000000000000001.log";
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void tornLastRecordKeepsEveryEarlierRecord() throws IOException {
+        long[] ends = writeJournal(directory.resolve("original"));
+        byte[] journal = Files.readAllBytes(directory.resolve("original").resolve(SEGMENT));
+
+        // Every length from the end of the previous record up to one byte short of the last
+        for (long cut = ends[RECORDS - 1]; cut < ends[RECORDS]; cut++) {
+            Path copy = directory.resolve("cut-" + cut);
+            Files.createDirectories(copy);
+            Files.write(copy.resolve(SEGMENT), Arrays.copyOf(journal, (int) cut));
+
+            ScheduleManager manager = restore(copy);
+            assertEquals(descriptions(RECORDS - 1), descriptionsOf(manager), "cut at " + cut);
+            // The torn bytes are cut off, so a new record follows the last good one
+            assertEquals(ends[RECORDS - 1], Files.size(copy.resolve(SEGMENT)), "cut at " + cut);
+            manager.addTask(task(RECORDS + 1));
+            manager.closePersistence();
+
+            ScheduleManager reopened = restore(copy);
+            List<String> expected = new ArrayList<>(descriptions(RECORDS - 1));
+            expected.add("task-" + (RECORDS + 1));
+            assertEquals(expected, descriptionsOf(reopened), "cut at " + cut);
+            reopened.closePersistence();
+        }
+
+        ScheduleManager complete = restore(directory.resolve("original"));
+        assertEquals(descriptions(RECORDS), descriptionsOf(complete));
+        complete.closePersistence();
+    }
+
+    @Test
+    void corruptMiddleRecordIsRejectedWithEverythingAfterIt() throws IOException {
+        long[] ends = writeJournal(directory.resolve("original"));
+        byte[] journal = Files.readAllBytes(directory.resolve("original").resolve(SEGMENT));
+
+        // Any byte of the third record: its length, its CRC or its body
+        for (long offset = ends[2]; offset < ends[3]; offset++) {
+            Path copy = directory.resolve("flip-" + offset);
+            Files.createDirectories(copy);
+            byte[] corrupt = journal.clone();
+            corrupt[(int) offset] ^= (byte) 0xFF;
+            Files.write(copy.resolve(SEGMENT), corrupt);
+
+            ScheduleManager manager = restore(copy);
+            assertEquals(descriptions(2), descriptionsOf(manager), "byte " + offset + " flipped");
+            assertEquals(ends[2], Files.size(copy.resolve(SEGMENT)), "byte " + offset + " flipped");
+            manager.closePersistence();
+        }
+    }
+
+    @Test
+    void journalSplitIntoSegmentsIsReplayedInOrder() throws IOException {
+        long[] ends = writeJournal(directory.resolve("original"));
+        byte[] journal = Files.readAllBytes(directory.resolve("original").resolve(SEGMENT));
+        Path copy = directory.resolve("split");
+        writeSegment(copy, 1, journal, 0, ends[2]);
+        writeSegment(copy, 3, journal, ends[2], ends[RECORDS]);
+
+        ScheduleManager manager = restore(copy);
+        assertEquals(descriptions(RECORDS), descriptionsOf(manager));
+        manager.closePersistence();
+    }
+
+    @Test
+    void rolledOverJournalIsRestored() throws IOException {
+        ScheduleManager manager = new ScheduleManager(new IndexedTaskStore(), new ScheduleStats(),
+                new PrintStream(OutputStream.nullOutputStream()));
+        manager.enablePersistence(directory, 2);
+        for (int i = 1; i <= RECORDS; i++) {
+            manager.addTask(task(i));
+        }
+        manager.closePersistence();
+
+        ScheduleManager reopened = restore(directory);
+        assertEquals(descriptions(RECORDS), descriptionsOf(reopened));
+        reopened.closePersistence();
+    }
+
+    @Test
+    void corruptEarlierSegmentFailsStartup() throws IOException {
+        long[] ends = writeJournal(directory.resolve("original"));
+        byte[] journal = Files.readAllBytes(directory.resolve("original").resolve(SEGMENT));
+        // The second record, at the end of the first segment
+        journal[(int) ends[1] + 10] ^= (byte) 0xFF;
+        Path copy = directory.resolve("split");
+        writeSegment(copy, 1, journal, 0, ends[2]);
+        writeSegment(copy, 3, journal, ends[2], ends[RECORDS]);
+
+        assertThrows(IOException.class, () -> restore(copy));
+        // Nothing was cut off, so the records can still be recovered by hand
+        assertEquals(ends[2], Files.size(copy.resolve(SEGMENT)));
+    }
+
+    @Test
+    void missingRecordsBetweenSegmentsFailStartup() throws IOException {
+        long[] ends = writeJournal(directory.resolve("original"));
+        byte[] journal = Files.readAllBytes(directory.resolve("original").resolve(SEGMENT));
+        // Records 1 and 2, then 4 and 5: record 3 is gone
+        Path copy = directory.resolve("gap");
+        writeSegment(copy, 1, journal, 0, ends[2]);
+        writeSegment(copy, 4, journal, ends[3], ends[RECORDS]);
+
+        assertThrows(IOException.class, () -> restore(copy));
+    }
+
+    @Test
+    void formatOneSnapshotIsStillRead() throws IOException {
+        List<Task> tasks = List.of(task(1), task(2), task(3));
+        Files.write(directory.resolve("snapshot-0000000000000000007.bin"), formatOneSnapshot(7, tasks));
+
+        ScheduleManager manager = restore(directory);
+        assertEquals(descriptions(3), descriptionsOf(manager));
+        assertEquals(PriorityLevel.LOW, manager.getTask("task-2").getPriority());
+        // New records continue the snapshot's sequence
+        manager.addTask(task(4));
+        manager.closePersistence();
+        assertEquals(List.of(directory.resolve("journal-0000000000000000008.log")),
+                listJournals(directory));
+
+        ScheduleManager reopened = restore(directory);
+        assertEquals(descriptions(4), descriptionsOf(reopened));
+        reopened.closePersistence();
+    }
+
+    @Test
+    void corruptSnapshotIsRefused() throws IOException {
+        byte[] snapshot = formatOneSnapshot(7, List.of(task(1)));
+        // A letter of the first description, after the 20-byte header and its length
+        snapshot[22] ^= 1;
+        Files.write(directory.resolve("snapshot-0000000000000000007.bin"), snapshot);
+
+        ScheduleManager manager = new ScheduleManager(new IndexedTaskStore(), new ScheduleStats(),
+                new PrintStream(OutputStream.nullOutputStream()));
+        assertThrows(IOException.class, () -> manager.enablePersistence(directory));
+    }
+
+    // One task per record. Returns the journal's length after each record, ends[0] being 0.
+    private static long[] writeJournal(Path directory) throws IOException {
+        ScheduleManager manager = restore(directory);
+        long[] ends = new long[RECORDS + 1];
+        for (int i = 1; i <= RECORDS; i++) {
+            // addTask returns once its record is on disk
+            manager.addTask(task(i));
+            ends[i] = Files.size(directory.resolve(SEGMENT));
+        }
+        manager.closePersistence();
+        return ends;
+    }
+
+    // Bytes [from, to) of a journal as the segment whose first record is 'firstSeq', as a
+    // roll-over leaves them
+    private static void writeSegment(Path directory, long firstSeq, byte[] journal, long from, long to)
+            throws IOException {
+        Files.createDirectories(directory);
+        Files.write(directory.resolve(String.format("journal-%019d.log", firstSeq)),
+                Arrays.copyOfRange(journal, (int) from, (int) to));
+    }
+
+    private static ScheduleManager restore(Path directory) throws IOException {
+        ScheduleManager manager = new ScheduleManager(new IndexedTaskStore(), new ScheduleStats(),
+                new PrintStream(OutputStream.nullOutputStream()));
+        manager.enablePersistence(directory);
+        return manager;
+    }
+
+    // Written as format 1 wrote it: no recurring task count
+    private static byte[] formatOneSnapshot(long seq, List<Task> tasks) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(0x53434853);
+        out.writeInt(1);
+        out.writeLong(seq);
+        out.writeInt(tasks.size());
+        for (Task task : tasks) {
+            ScheduleJournal.writeTask(out, task);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(bytes.toByteArray());
+        out.writeInt((int) crc.getValue());
+        return bytes.toByteArray();
+    }
+
+    private static List<Path> listJournals(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(f -> f.getFileName().toString().startsWith("journal-")).sorted().toList();
+        }
+    }
+
+    private static List<String> descriptionsOf(ScheduleManager manager) {
+        return manager.getTasks().stream().map(Task::getDescription).toList();
+    }
+
+    private static List<String> descriptions(int count) {
+        return IntStream.rangeClosed(1, count).mapToObj(i -> "task-" + i).toList();
+    }
+
+    // Task i runs from i:00 to i:30; priorities cycle MEDIUM, LOW, HIGH from task 1
+    private static Task task(int i) {
+        return new Task("task-" + i, LocalTime.of(i, 0), LocalTime.of(i, 30), PriorityLevel.values()[i % 3]);
+    }
+}
@@ -0,0 +1,50 @@
+package com.astronaut.scheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.logging.Formatter;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import org.junit.jupiter.api.Test;
+
+// The session log keeps the line as it read when logged, and only the most recent lines
+class SessionLogHandlerTest {
+
+    @Test
+    void laterChangesToAParameterAreNotShown() {
+        SessionLogHandler handler = handler(10);
+        StringBuilder report = new StringBuilder("3 imported");
+        handler.publish(record("Import finished: {0}", report));
+        report.replace(0, report.length(), "0 imported");
+
+        assertEquals(List.of("Import finished: 3 imported"), handler.getFormattedRecords());
+    }
+
+    @Test
+    void oldestLinesAreEvicted() {
+        SessionLogHandler handler = handler(3);
+        for (int i = 1; i <= 5; i++) {
+            handler.publish(record("line {0}", i));
+        }
+
+        assertEquals(List.of("line 3", "line 4", "line 5"), handler.getFormattedRecords());
+    }
+
+    private static SessionLogHandler handler(int capacity) {
+        SessionLogHandler handler = new SessionLogHandler(capacity);
+        handler.setFormatter(new Formatter() {
+            @Override
+            public String format(LogRecord record) {
+                return formatMessage(record);
+            }
+        });
+        return handler;
+    }
+
+    private static LogRecord record(String message, Object parameter) {
+        LogRecord record = new LogRecord(Level.INFO, message);
+        record.setParameters(new Object[] {parameter});
+        return record;
+    }
+}
@@ -0,0 +1,105 @@
+package com.astronaut.scheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+// The index must report exactly the tasks the original linear scan (tasksOverlap over every
+// task) reported
+class TaskIntervalIndexTest {
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    @Test
+    void touchingTasksDoNotOverlap() {
+        TaskIntervalIndex index = new TaskIntervalIndex();
+        Task morning = task("morning", 9 * 60, 10 * 60);
+        Task late = task("late", 10 * 60, 11 * 60);
+        index.add(morning);
+        index.add(late);
+
+        assertEquals(List.of(), index.findOverlapping(LocalTime.of(8, 0), LocalTime.of(9, 0)));
+        assertEquals(List.of(), index.findOverlapping(LocalTime.of(11, 0), LocalTime.of(12, 0)));
+        assertEquals(List.of(morning), index.findOverlapping(LocalTime.of(9, 59), LocalTime.of(10, 0)));
+        assertEquals(List.of(late), index.findOverlapping(LocalTime.of(10, 0), LocalTime.of(10, 1)));
+        assertEquals(List.of(morning, late), index.findOverlapping(LocalTime.of(9, 30), LocalTime.of(10, 30)));
+        assertFalse(index.anyOverlapping(LocalTime.of(8, 0), LocalTime.of(9, 0)));
+        assertFalse(index.anyOverlapping(LocalTime.of(11, 0), LocalTime.of(12, 0)));
+        assertTrue(index.anyOverlapping(LocalTime.of(9, 59), LocalTime.of(10, 0)));
+        assertTrue(index.anyOverlapping(LocalTime.of(10, 0), LocalTime.of(10, 1)));
+    }
+
+    @Test
+    void matchesLinearScanOnRandomSchedules() {
+        Random random = new Random(20_241_017);
+        for (int round = 0; round < 500; round++) {
+            List<Task> tasks = randomSchedule(random);
+            TaskIntervalIndex index = new TaskIntervalIndex();
+            tasks.forEach(index::add);
+
+            for (int query = 0; query < 200; query++) {
+                int start = random.nextInt(MINUTES_PER_DAY - 1);
+                int end = start + 1 + random.nextInt(Math.min(180, MINUTES_PER_DAY - 1 - start));
+                Task probe = task("probe", start, end);
+
+                List<Task> expected = new ArrayList<>();
+                for (Task t : tasks) {
+                    if (tasksOverlap(probe, t)) {
+                        expected.add(t);
+                    }
+                }
+                List<Task> actual = index.findOverlapping(probe);
+                assertEquals(expected, actual, () -> "Query " + probe + " over " + tasks);
+                assertEquals(!expected.isEmpty(), index.anyOverlapping(probe.getStartTime(), probe.getEndTime()),
+                        () -> "anyOverlapping " + probe + " over " + tasks);
+            }
+        }
+    }
+
+    @Test
+    void removedTasksAreNotReported() {
+        Random random = new Random(7);
+        List<Task> tasks = randomSchedule(random);
+        TaskIntervalIndex index = new TaskIntervalIndex();
+        tasks.forEach(index::add);
+        List<Task> kept = new ArrayList<>();
+        for (Task t : tasks) {
+            if (random.nextBoolean()) {
+                assertTrue(index.remove(t));
+            } else {
+                kept.add(t);
+            }
+        }
+        assertEquals(kept, index.findOverlapping(LocalTime.MIN, LocalTime.MAX));
+        assertEquals(new HashSet<>(kept), new HashSet<>(index.getTasks()));
+    }
+
+    // Non-overlapping tasks in start order, as the schedule keeps them; about a third of them
+    // start exactly where the previous one ends
+    private static List<Task> randomSchedule(Random random) {
+        List<Task> tasks = new ArrayList<>();
+        int minute = random.nextInt(60);
+        while (minute < MINUTES_PER_DAY - 1) {
+            int end = Math.min(MINUTES_PER_DAY - 1, minute + 1 + random.nextInt(90));
+            tasks.add(task("task-" + tasks.size(), minute, end));
+            minute = random.nextInt(3) == 0 ? end : end + 1 + random.nextInt(60);
+        }
+        return tasks;
+    }
+
+    // The linear check ScheduleManager used before the index
+    private static boolean tasksOverlap(Task t1, Task t2) {
+        return t1.getStartTime().isBefore(t2.getEndTime()) && t1.getEndTime().isAfter(t2.getStartTime());
+    }
+
+    private static Task task(String description, int startMinute, int endMinute) {
+        return new Task(description, LocalTime.of(startMinute / 60, startMinute % 60),
+                LocalTime.of(endMinute / 60, endMinute % 60), PriorityLevel.MEDIUM);
+    }
+}